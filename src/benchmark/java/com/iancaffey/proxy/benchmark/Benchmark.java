@@ -0,0 +1,49 @@
+package com.iancaffey.proxy.benchmark;
+
+/**
+ * Benchmark
+ * <p>
+ * A named scenario measured by the BenchmarkGate.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class Benchmark {
+    private final String name;
+    private final boolean allocationFree;
+    private final Operation operation;
+
+    /**
+     * Constructs a Benchmark.
+     *
+     * @param name           name of the scenario, used as its key in the baseline
+     * @param allocationFree determines whether or not the scenario must not allocate
+     * @param operation      the measured operation
+     */
+    Benchmark(String name, boolean allocationFree, Operation operation) {
+        this.name = name;
+        this.allocationFree = allocationFree;
+        this.operation = operation;
+    }
+
+    String name() {
+        return name;
+    }
+
+    boolean allocationFree() {
+        return allocationFree;
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    /**
+     * Operation
+     * <p>
+     * Runs a scenario a number of times, returning a value derived from every result so the work cannot be eliminated.
+     */
+    interface Operation {
+        long run(int operations) throws Throwable;
+    }
+}
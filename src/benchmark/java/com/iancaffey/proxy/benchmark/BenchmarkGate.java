@@ -0,0 +1,248 @@
+package com.iancaffey.proxy.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * BenchmarkGate
+ * <p>
+ * A regression gate over the allocation rate and throughput of the wrapper invocation and creation paths.
+ * Each scenario is calibrated, warmed up and measured over several rounds, each round paired with a round of the direct-call calibration scenario.
+ * Throughput is recorded as the median ratio of the scenario's throughput to the calibration's, so the baseline carries over between machines
+ * and load changes during a run cancel out; allocation is recorded in absolute bytes per operation.
+ * Scenarios are measured in several forked JVMs and the median of the forks is compared, as the code the JIT compiler produces differs from one JVM to another;
+ * an updated baseline records the slowest fork, so that variance alone does not fail the gate.
+ * The gate fails if an allocation-free scenario allocates at all, or if a scenario's allocation rate or relative throughput regresses beyond the tolerance.
+ * <p>
+ * Usage: {@code BenchmarkGate <baseline> [--update] [--tolerance=0.25] [--forks=3]}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class BenchmarkGate {
+    private static final long ROUND_NANOS = 50_000_000L;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 5;
+    private static final double ALLOCATION_EPSILON = 0.5;
+    private static final String MEASURE = "--measure=";
+    private static volatile long sink;
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        Path baseline = null;
+        boolean update = false;
+        double tolerance = 0.25;
+        int forks = 3;
+        for (String arg : args) {
+            if (arg.equals("--update"))
+                update = true;
+            else if (arg.startsWith("--tolerance="))
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            else if (arg.startsWith("--forks="))
+                forks = Integer.parseInt(arg.substring("--forks=".length()));
+            else if (arg.startsWith(MEASURE)) {
+                measure(Paths.get(arg.substring(MEASURE.length())));
+                return;
+            } else
+                baseline = Paths.get(arg);
+        }
+        if (baseline == null || forks < 1)
+            throw new IllegalArgumentException("Usage: BenchmarkGate <baseline> [--update] [--tolerance=0.25] [--forks=3]");
+        Properties expected = new Properties();
+        if (Files.exists(baseline))
+            try (Reader reader = Files.newBufferedReader(baseline, StandardCharsets.UTF_8)) {
+                expected.load(reader);
+            }
+        Properties[] runs = new Properties[forks];
+        for (int i = 0; i < forks; i++)
+            runs[i] = fork();
+        TreeMap<String, String> measured = new TreeMap<>();
+        List<String> failures = new ArrayList<>();
+        for (Benchmark benchmark : Scenarios.all()) {
+            double throughput = median(runs, benchmark.name() + ".throughput");
+            double relative = median(runs, benchmark.name() + ".relative");
+            double allocation = median(runs, benchmark.name() + ".allocation");
+            measured.put(benchmark.name() + ".relative", String.format(Locale.ROOT, "%.4g", minimum(runs, benchmark.name() + ".relative")));
+            measured.put(benchmark.name() + ".allocation", String.format(Locale.ROOT, "%.1f", allocation));
+            System.out.println(String.format(Locale.ROOT, "%-28s %,16.0f ops/s %10.4g x direct %10.1f B/op", benchmark.name(), throughput, relative, allocation));
+            if (benchmark.allocationFree() && allocation > ALLOCATION_EPSILON)
+                failures.add(String.format(Locale.ROOT, "%s allocates %.1f B/op but must be allocation-free.", benchmark.name(), allocation));
+            if (update)
+                continue;
+            String baselineAllocation = expected.getProperty(benchmark.name() + ".allocation");
+            if (baselineAllocation != null && allocation > Double.parseDouble(baselineAllocation) * (1 + tolerance) + ALLOCATION_EPSILON)
+                failures.add(String.format(Locale.ROOT, "%s allocates %.1f B/op, more than the baseline %s B/op (tolerance %.0f%%).", benchmark.name(), allocation, baselineAllocation, tolerance * 100));
+            String baselineRelative = expected.getProperty(benchmark.name() + ".relative");
+            if (baselineRelative != null && relative < Double.parseDouble(baselineRelative) * (1 - tolerance))
+                failures.add(String.format(Locale.ROOT, "%s throughput %.4g x direct is below the baseline %s x direct (tolerance %.0f%%).", benchmark.name(), relative, baselineRelative, tolerance * 100));
+        }
+        double reference = median(runs, "calibration.direct.throughput");
+        System.out.println(String.format(Locale.ROOT, "%-28s %,16.0f ops/s", "calibration.direct", reference));
+        if (update) {
+            write(baseline, measured, reference);
+            System.out.println("Baseline written to " + baseline + ".");
+        }
+        if (!failures.isEmpty()) {
+            for (String failure : failures)
+                System.err.println(failure);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Measures every scenario in a new JVM with the classpath of this one.
+     *
+     * @return measured values of the fork
+     */
+    private static Properties fork() throws IOException, InterruptedException {
+        Path output = Files.createTempFile("benchmark", ".properties");
+        try {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), BenchmarkGate.class.getName(), MEASURE + output)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            if (process.waitFor() != 0)
+                throw new IllegalStateException("Benchmark fork exited with " + process.exitValue() + ".");
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(output, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            return properties;
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Measures every scenario in this JVM, writing the results to {@code output}.
+     *
+     * @param output destination of the measured values
+     */
+    private static void measure(Path output) throws Throwable {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported())
+            throw new IllegalStateException("Thread allocation measurement is not supported by this JVM.");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        Properties measured = new Properties();
+        Benchmark.Operation calibration = Scenarios.calibration().operation();
+        double reference = 0;
+        List<Benchmark> benchmarks = Scenarios.all();
+        for (Benchmark benchmark : benchmarks) {
+            Result result = measure(benchmark.operation(), calibration, threads);
+            reference += result.throughput / result.relative / benchmarks.size();
+            measured.setProperty(benchmark.name() + ".throughput", Double.toString(result.throughput));
+            measured.setProperty(benchmark.name() + ".relative", Double.toString(result.relative));
+            measured.setProperty(benchmark.name() + ".allocation", Double.toString(result.allocation));
+        }
+        measured.setProperty("calibration.direct.throughput", Double.toString(reference));
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            measured.store(writer, null);
+        }
+    }
+
+    private static Result measure(Benchmark.Operation operation, Benchmark.Operation calibration, com.sun.management.ThreadMXBean threads) throws Throwable {
+        int operations = calibrate(operation);
+        int references = calibrate(calibration);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += calibration.run(references);
+            sink += operation.run(operations);
+        }
+        long thread = Thread.currentThread().getId();
+        double[] throughputs = new double[ROUNDS];
+        double[] relatives = new double[ROUNDS];
+        double allocation = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += calibration.run(references);
+            double direct = references * 1e9 / (System.nanoTime() - start);
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            start = System.nanoTime();
+            sink += operation.run(operations);
+            long elapsed = System.nanoTime() - start;
+            bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+            throughputs[i] = operations * 1e9 / elapsed;
+            relatives[i] = throughputs[i] / direct;
+            allocation = Math.min(allocation, (double) bytes / operations);
+        }
+        Arrays.sort(throughputs);
+        Arrays.sort(relatives);
+        return new Result(throughputs[ROUNDS / 2], relatives[ROUNDS / 2], allocation);
+    }
+
+    private static int calibrate(Benchmark.Operation operation) throws Throwable {
+        int operations = 1;
+        while (true) {
+            long start = System.nanoTime();
+            sink += operation.run(operations);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= ROUND_NANOS || operations >= 1 << 30)
+                return operations;
+            operations <<= 1;
+        }
+    }
+
+    private static double median(Properties[] runs, String key) {
+        double[] values = values(runs, key);
+        return values.length % 2 == 1 ? values[values.length / 2] : (values[values.length / 2 - 1] + values[values.length / 2]) / 2;
+    }
+
+    private static double minimum(Properties[] runs, String key) {
+        return values(runs, key)[0];
+    }
+
+    private static double[] values(Properties[] runs, String key) {
+        double[] values = new double[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            String value = runs[i].getProperty(key);
+            if (value == null)
+                throw new IllegalStateException("Benchmark fork did not measure " + key + ".");
+            values[i] = Double.parseDouble(value);
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static void write(Path baseline, TreeMap<String, String> measured, double reference) throws IOException {
+        Path parent = baseline.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+        try (Writer writer = Files.newBufferedWriter(baseline, StandardCharsets.UTF_8)) {
+            writer.write("# Benchmark baseline, regenerate with: gradle benchmark -PupdateBaseline");
+            writer.write(System.lineSeparator());
+            writer.write(String.format(Locale.ROOT, "# Throughput is relative to calibration.direct, measured at %.0f ops/s when this baseline was written.", reference));
+            writer.write(System.lineSeparator());
+            for (Map.Entry<String, String> entry : measured.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue());
+                writer.write(System.lineSeparator());
+            }
+        }
+    }
+
+    private static final class Result {
+        private final double throughput;
+        private final double relative;
+        private final double allocation;
+
+        private Result(double throughput, double relative, double allocation) {
+            this.throughput = throughput;
+            this.relative = relative;
+            this.allocation = allocation;
+        }
+    }
+}
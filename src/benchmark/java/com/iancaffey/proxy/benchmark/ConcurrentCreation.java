@@ -0,0 +1,91 @@
+package com.iancaffey.proxy.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * ConcurrentCreation
+ * <p>
+ * Measures the creation throughput of every creation scenario with 1 to 64 threads creating wrappers concurrently.
+ * Each thread counts its own operations, so the measurement itself shares no mutable state between threads.
+ * Scaling is reported against the single-threaded throughput, and is bounded by the number of available processors.
+ * <p>
+ * Usage: {@code ConcurrentCreation [maxThreads] [millisPerRun]}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class ConcurrentCreation {
+    private static final int BATCH = 1024;
+    private static volatile long sink;
+
+    private ConcurrentCreation() {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 500;
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        for (Benchmark benchmark : Scenarios.all()) {
+            if (!benchmark.name().startsWith("create."))
+                continue;
+            run(benchmark.operation(), 1, millis);
+            double single = 0;
+            for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+                double throughput = run(benchmark.operation(), threads, millis);
+                if (threads == 1)
+                    single = throughput;
+                System.out.println(String.format(Locale.ROOT, "%-28s %3d thread(s) %,16.0f ops/s %8.2fx", benchmark.name(), threads, throughput, throughput / single));
+            }
+        }
+    }
+
+    private static double run(Benchmark.Operation operation, int threads, long millis) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(operation, start, millis * 1_000_000L);
+            workers[i].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        long operations = 0;
+        for (Worker worker : workers) {
+            worker.join();
+            if (worker.failure != null)
+                throw new IllegalStateException(worker.failure);
+            operations += worker.operations;
+        }
+        return operations * 1e9 / (System.nanoTime() - begin);
+    }
+
+    private static final class Worker extends Thread {
+        private final Benchmark.Operation operation;
+        private final CountDownLatch start;
+        private final long duration;
+        private long operations;
+        private Throwable failure;
+
+        private Worker(Benchmark.Operation operation, CountDownLatch start, long duration) {
+            this.operation = operation;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+                long result = 0;
+                long begin = System.nanoTime();
+                do {
+                    result += operation.run(BATCH);
+                    operations += BATCH;
+                } while (System.nanoTime() - begin < duration);
+                sink += result;
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.iancaffey.proxy.benchmark;
+
+import com.iancaffey.proxy.WrapperFactory;
+import com.iancaffey.proxy.reflect.ConfiguredFactory;
+import com.iancaffey.proxy.reflect.GlobalMappedMember;
+import com.iancaffey.proxy.reflect.GlobalMappedMethod;
+import com.iancaffey.proxy.reflect.MappedAccessor;
+import com.iancaffey.proxy.reflect.MappedClass;
+import com.iancaffey.proxy.reflect.MappedMember;
+import com.iancaffey.proxy.reflect.TargetType;
+import com.iancaffey.proxy.reflect.Wrapper;
+import com.iancaffey.proxy.reflect.WrapperQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scenarios
+ * <p>
+ * The wrapper invocation and creation scenarios measured by the BenchmarkGate.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class Scenarios {
+    private Scenarios() {
+    }
+
+    /**
+     * Returns the calibration scenario: direct calls to the source, with no wrapper involved.
+     * Each call picks its source from the previous result, so the loop is a dependent chain which cannot be vectorized or folded.
+     * Scenario throughput is recorded relative to it, so the baseline does not depend on the speed of the machine it was written on.
+     *
+     * @return calibration scenario
+     */
+    static Benchmark calibration() {
+        Model[] sources = new Model[1024];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = new Model();
+        return new Benchmark("calibration.direct", true, operations -> {
+            long x = 1;
+            for (int i = 0; i < operations; i++) {
+                x += sources[(int) x & 0x3FF].value();
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+            }
+            return x;
+        });
+    }
+
+    /**
+     * Returns every scenario
+     *
+     * @return scenarios in the order they are run
+     * @throws Exception if a scenario could not be set up
+     */
+    static List<Benchmark> all() throws Exception {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        Model model = new Model();
+        ModelWrapper wrapper = WrapperFactory.newInstance(ModelWrapper.class, model);
+        ConfiguredFactory<ConfiguredWrapper, ?> factory = WrapperFactory.configuredFactory(ConfiguredWrapper.class).map(
+                new GlobalMappedMember(0x1, "value", "value", TargetType.FIELD, model),
+                new GlobalMappedMethod(0x1, "add", "add", model, int.class, int.class),
+                new GlobalMappedMember(0x8, "limit", "LIMIT", TargetType.FIELD, Model.class)
+        );
+        ConfiguredWrapper configured = factory.newInstance();
+        ConfiguredWrapper intercepted = WrapperFactory.configuredFactory(ConfiguredWrapper.class)
+                .map(factory.mappings())
+                .intercept((method, source, args, next) -> next.proceed(source, args))
+                .newInstance();
+        Model[] sources = new Model[1024];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = new Model();
+        MappedAccessor accessor = MappedAccessor.mapped(ModelWrapper.class.getMethod("field"), Model.class);
+        int[] results = new int[sources.length];
+
+        benchmarks.add(new Benchmark("invoke.mapped.field", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += wrapper.field();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("invoke.mapped.method", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += wrapper.method();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("invoke.global.field", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += configured.value();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("invoke.global.constant", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += configured.limit();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("invoke.global.intercepted", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += intercepted.value();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("invoke.global.forwarded", false, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += configured.add(i & 0x3F, 1);
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("gather.int", true, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++) {
+                accessor.gather(sources, results);
+                sum += results[i & 0x3FF];
+            }
+            return sum;
+        }));
+        WrapperQuery<ModelWrapper, Model> query = WrapperQuery.from(ModelWrapper.class, Arrays.asList(sources)).where(ModelWrapper::field, WrapperQuery.ge(42));
+        benchmarks.add(new Benchmark("query.where", false, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += query.sources().count();
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("create.mapped", false, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += System.identityHashCode(WrapperFactory.newInstance(ModelWrapper.class, model)) & 1;
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("create.lazy", false, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += System.identityHashCode(WrapperFactory.newLazyInstance(ModelWrapper.class)) & 1;
+            return sum;
+        }));
+        benchmarks.add(new Benchmark("create.configured", false, operations -> {
+            long sum = 0;
+            for (int i = 0; i < operations; i++)
+                sum += System.identityHashCode(factory.newInstance()) & 1;
+            return sum;
+        }));
+        return benchmarks;
+    }
+
+    public static class Model {
+        public static final int LIMIT = 1 << 20;
+        public int value = 42;
+
+        public int value() {
+            return value;
+        }
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    @MappedClass(target = Model.class)
+    public interface ModelWrapper extends Wrapper<Model> {
+        @MappedMember(type = TargetType.FIELD, name = "value")
+        int field();
+
+        @MappedMember(type = TargetType.METHOD, name = "value")
+        int method();
+    }
+
+    public interface ConfiguredWrapper {
+        int value();
+
+        int add(int a, int b);
+
+        int limit();
+    }
+}
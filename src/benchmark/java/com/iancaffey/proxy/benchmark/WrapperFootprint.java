@@ -0,0 +1,73 @@
+package com.iancaffey.proxy.benchmark;
+
+import com.iancaffey.proxy.WrapperFactory;
+import com.iancaffey.proxy.reflect.ConfiguredFactory;
+import com.iancaffey.proxy.reflect.GlobalMappedMember;
+import com.iancaffey.proxy.reflect.GlobalMappedMethod;
+import com.iancaffey.proxy.reflect.GlobalMappingInvocationHandler;
+import com.iancaffey.proxy.reflect.MappingInvocationHandler;
+import com.iancaffey.proxy.reflect.TargetType;
+
+import java.util.Locale;
+
+/**
+ * WrapperFootprint
+ * <p>
+ * Reports the retained heap per live wrapper, excluding its source, by holding many wrappers of a single shared source.
+ * Each compact representation is reported next to the representation it replaces.
+ * <p>
+ * Usage: {@code WrapperFootprint [wrappers]}
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class WrapperFootprint {
+    private WrapperFootprint() {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Scenarios.Model model = new Scenarios.Model();
+        GlobalMappedMember[] mappings = {
+                new GlobalMappedMember(0x1, "value", "value", TargetType.FIELD, model),
+                new GlobalMappedMethod(0x1, "add", "add", model, int.class, int.class),
+                new GlobalMappedMember(0x8, "limit", "LIMIT", TargetType.FIELD, Scenarios.Model.class)
+        };
+        ConfiguredFactory<Scenarios.ConfiguredWrapper, ?> factory = WrapperFactory.configuredFactory(Scenarios.ConfiguredWrapper.class).map(mappings);
+        report("mapped, per-instance MappingInvocationHandler", count,
+                () -> WrapperFactory.newInstance(Scenarios.ModelWrapper.class, new MappingInvocationHandler<>(model)));
+        report("mapped, compact handler", count,
+                () -> WrapperFactory.newInstance(Scenarios.ModelWrapper.class, model));
+        report("configured, per-instance handler and table", count,
+                () -> WrapperFactory.newInstance(Scenarios.ConfiguredWrapper.class, new GlobalMappingInvocationHandler(mappings)));
+        report("configured, shared handler", count, factory::newInstance);
+        report("lazy", count, () -> WrapperFactory.newLazyInstance(Scenarios.ModelWrapper.class));
+    }
+
+    private static void report(String name, int count, Factory wrappers) throws Throwable {
+        for (int i = 0; i < 1024; i++)
+            wrappers.create();
+        Object[] retained = new Object[count];
+        long before = used();
+        for (int i = 0; i < count; i++)
+            retained[i] = wrappers.create();
+        long after = used();
+        System.out.println(String.format(Locale.ROOT, "%-48s %8.1f B/wrapper", name, (double) (after - before) / count));
+        if (retained[count - 1] == null)
+            throw new IllegalStateException();
+    }
+
+    private static long used() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private interface Factory {
+        Object create() throws Throwable;
+    }
+}
@@ -1,13 +1,23 @@
 package com.iancaffey.proxy;
 
+import com.iancaffey.proxy.reflect.CompactMappingInvocationHandler;
+import com.iancaffey.proxy.reflect.CompositeFactory;
 import com.iancaffey.proxy.reflect.ConfiguredFactory;
+import com.iancaffey.proxy.reflect.LazyMappingInvocationHandler;
 import com.iancaffey.proxy.reflect.MappedClass;
+import com.iancaffey.proxy.reflect.MappingIndex;
 import com.iancaffey.proxy.reflect.MappingInvocationHandler;
+import com.iancaffey.proxy.reflect.ProxyConstructor;
+import com.iancaffey.proxy.reflect.SourceFactory;
 import com.iancaffey.proxy.reflect.Wrapper;
+import com.iancaffey.proxy.reflect.WrapperQuery;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * WrapperFactory
@@ -48,6 +58,9 @@ public class WrapperFactory {
 
     /**
      * Creates a proxy class of {@code = wrapperClass} mapping all methods with GlobalMappedMember annotations to the appropriate field or method of the {@code = source}
+     * <p>
+     * The wrapper holds nothing but its source; mapping tables are shared per source class.
+     * Wrapper methods returning a CompletableFuture run on the calling thread; use #newInstance(Class, Object, Executor) to run them on an Executor.
      *
      * @param wrapperClass model class to be wrapped and mapped
      * @param source       object holding the data to be retrieved
@@ -56,12 +69,29 @@ public class WrapperFactory {
     public static <W extends Wrapper<E>, E> W newInstance(Class<W> wrapperClass, E source) throws InstantiationException {
         if (wrapperClass == null || source == null)
             throw new IllegalArgumentException();
-        return (W) Proxy.newProxyInstance(wrapperClass.getClassLoader(), new Class[]{wrapperClass}, new MappingInvocationHandler<>(source));
+        return newInstance(wrapperClass, new CompactMappingInvocationHandler<>(source));
+    }
+
+    /**
+     * Creates a proxy class of {@code = wrapperClass} mapping all methods with GlobalMappedMember annotations to the appropriate field or method of the {@code = source}
+     * Wrapper methods returning a CompletableFuture are run on {@code = executor} and complete the future with the mapped value.
+     * Pending asynchronous invocations of the wrapper are batched into a single task of the executor.
+     *
+     * @param wrapperClass model class to be wrapped and mapped
+     * @param source       object holding the data to be retrieved
+     * @param executor     executor running asynchronous wrapper methods
+     * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
+     */
+    public static <W extends Wrapper<E>, E> W newInstance(Class<W> wrapperClass, E source, Executor executor) {
+        if (wrapperClass == null || source == null || executor == null)
+            throw new IllegalArgumentException();
+        return newInstance(wrapperClass, new MappingInvocationHandler<>(source, null, executor));
     }
 
     /**
      * Creates a proxy class of {@code = wrapperClass} mapping all methods with GlobalMappedMember annotations to the appropriate field or method of the model class.
      * The wrapper class for this method must have a ClassRetriever annotation present to provide the proper class to instantiate.
+     * Wrapper methods returning a CompletableFuture run on the calling thread.
      *
      * @param wrapperClass model class to be wrapped and mapped
      * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
@@ -70,21 +100,78 @@ public class WrapperFactory {
         if (wrapperClass == null || !wrapperClass.isAnnotationPresent(MappedClass.class))
             throw new IllegalArgumentException();
         Class<?> model = wrapperClass.getAnnotation(MappedClass.class).target();
-        return newInstance(wrapperClass, new MappingInvocationHandler<>(model.newInstance()));
+        return newInstance(wrapperClass, new CompactMappingInvocationHandler<>(model.newInstance()));
+    }
+
+    /**
+     * Creates a proxy class of {@code = wrapperClass} whose source is not instantiated until the first mapped method is invoked.
+     * The source constructor is resolved immediately and cached, so only the instantiation itself is deferred.
+     *
+     * @param wrapperClass    model class to be wrapped and mapped
+     * @param source          model of the object holding the data to be retrieved
+     * @param parameterTypes  types of the source class constructor parameters
+     * @param parameterValues desired values of the source class constructor parameters
+     * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
+     */
+    public static <W extends Wrapper<E>, E> W newLazyInstance(Class<W> wrapperClass, Class<E> source, Class<?>[] parameterTypes, Object[] parameterValues) throws NoSuchMethodException, IllegalAccessException {
+        if (wrapperClass == null || source == null || parameterTypes == null || parameterValues == null || parameterTypes.length != parameterValues.length)
+            throw new IllegalArgumentException();
+        return newLazyInstance(wrapperClass, source, SourceFactory.of(source, parameterTypes, parameterValues));
+    }
+
+    /**
+     * Creates a proxy class of {@code = wrapperClass} whose source is not instantiated until the first mapped method is invoked.
+     * The source constructor is resolved immediately and cached, so only the instantiation itself is deferred.
+     *
+     * @param wrapperClass model class to be wrapped and mapped
+     * @param source       model of the object holding the data to be retrieved
+     * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
+     */
+    public static <W extends Wrapper<E>, E> W newLazyInstance(Class<W> wrapperClass, Class<E> source) throws NoSuchMethodException, IllegalAccessException {
+        if (wrapperClass == null || source == null)
+            throw new IllegalArgumentException();
+        return newLazyInstance(wrapperClass, source, SourceFactory.of(source));
+    }
+
+    /**
+     * Creates a proxy class of {@code = wrapperClass} whose source is not retrieved from {@code = supplier} until the first mapped method is invoked.
+     *
+     * @param wrapperClass model class to be wrapped and mapped
+     * @param source       model of the object holding the data to be retrieved
+     * @param supplier     creates the object holding the data to be retrieved
+     * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
+     */
+    public static <W extends Wrapper<E>, E> W newLazyInstance(Class<W> wrapperClass, Class<? extends E> source, Supplier<? extends E> supplier) {
+        if (wrapperClass == null || source == null || supplier == null)
+            throw new IllegalArgumentException();
+        return newInstance(wrapperClass, new LazyMappingInvocationHandler<E>(source, supplier));
+    }
+
+    /**
+     * Creates a proxy class of {@code = wrapperClass} whose source is not instantiated until the first mapped method is invoked.
+     * The wrapper class for this method must have a MappedClass annotation present to provide the proper class to instantiate.
+     *
+     * @param wrapperClass model class to be wrapped and mapped
+     * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
+     */
+    @SuppressWarnings("unchecked")
+    public static <W extends Wrapper<E>, E> W newLazyInstance(Class<W> wrapperClass) throws NoSuchMethodException, IllegalAccessException {
+        if (wrapperClass == null || !wrapperClass.isAnnotationPresent(MappedClass.class))
+            throw new IllegalArgumentException();
+        Class<E> model = (Class<E>) wrapperClass.getAnnotation(MappedClass.class).target();
+        return newLazyInstance(wrapperClass, model, SourceFactory.of(model));
     }
 
     /**
      * Creates a proxy class of {@code = wrapperClass} using an InvocationHandler to handle all abstract methods.
-     * The wrapper class for this method must have a ClassRetriever annotation present to provide the proper class to instantiate.
+     * The proxy class constructor is generated once per wrapper class, so instantiation takes no locks.
      *
      * @param wrapperClass model class to be wrapped and mapped
      * @param handler      handler for all abstract methods
      * @return proxy class of the model class with all GlobalMappedMember methods mapped accordingly
      */
     public static <W> W newInstance(Class<W> wrapperClass, InvocationHandler handler) {
-        if (handler == null)
-            throw new IllegalArgumentException();
-        return (W) Proxy.newProxyInstance(wrapperClass.getClassLoader(), new Class[]{wrapperClass}, handler);
+        return ProxyConstructor.newInstance(wrapperClass, handler);
     }
 
     /**
@@ -96,4 +183,60 @@ public class WrapperFactory {
     public static <W> ConfiguredFactory<W, ?> configuredFactory(Class<W> wrapperClass) {
         return new ConfiguredFactory<>(wrapperClass);
     }
+
+    /**
+     * Creates a CompositeFactory capable of creating single instances implementing several wrapper classes.
+     *
+     * @return CompositeFactory with no views
+     */
+    public static CompositeFactory compositeFactory() {
+        return new CompositeFactory();
+    }
+
+    /**
+     * Creates a WrapperQuery over {@code sources}, evaluating conditions on wrapper methods directly on the sources.
+     * The wrapper class for this method must have a MappedClass annotation present to provide the source class.
+     *
+     * @param wrapperClass wrapper class whose mapped methods are queried
+     * @param sources      sources to be queried
+     * @return WrapperQuery matching every source
+     */
+    public static <W extends Wrapper<E>, E> WrapperQuery<W, E> query(Class<W> wrapperClass, Collection<? extends E> sources) {
+        return WrapperQuery.from(wrapperClass, sources);
+    }
+
+    /**
+     * Pre-resolves the wrapper classes so their first instantiation and invocations do not pay for proxy class generation or member resolution.
+     * Wrapper classes without a MappedClass annotation are ignored. Accessors are resolved for sources whose class is the target class of
+     * the MappedClass annotation; use MappingIndex#resolve(Class...) to resolve subclasses of it as well.
+     *
+     * @param wrapperClasses wrapper classes to be resolved
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public static void warmUp(Class<?>... wrapperClasses) throws ReflectiveOperationException {
+        MappingIndex.of(wrapperClasses).resolve();
+    }
+
+    /**
+     * Pre-resolves every wrapper class with a MappedClass annotation within the package or its subpackages.
+     *
+     * @param packageName name of the package to scan
+     * @throws IOException                  if the package could not be read
+     * @throws ReflectiveOperationException if a class could not be loaded or a target field/method could not be found or accessed
+     */
+    public static void warmUp(String packageName) throws IOException, ReflectiveOperationException {
+        MappingIndex.scan(packageName, Thread.currentThread().getContextClassLoader()).resolve();
+    }
+
+    /**
+     * Pre-resolves every wrapper class listed by the build-time mapping index, skipping classpath scanning.
+     * The index is generated at build time by running {@code com.iancaffey.proxy.reflect.MappingIndex <output> <package>...} over the compiled wrapper classes.
+     *
+     * @throws IOException                  if the mapping index could not be read
+     * @throws ReflectiveOperationException if a listed class could not be loaded or a target field/method could not be found or accessed
+     * @see MappingIndex
+     */
+    public static void warmUp() throws IOException, ReflectiveOperationException {
+        MappingIndex.load(Thread.currentThread().getContextClassLoader()).resolve();
+    }
 }
@@ -0,0 +1,149 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AsyncInvocation
+ * <p>
+ * Utility methods for wrapper methods declared to return a CompletableFuture or CompletionStage.
+ * The mapped target is invoked on an Executor and the returned future is completed with its value.
+ * Invocations are batched per wrapper: the invocations of a wrapper which are pending together are run by a single task of the Executor,
+ * in the order they were made, so fanning out across many wrappers costs one task per wrapper rather than one per call,
+ * and a source is never read by two tasks at once.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+final class AsyncInvocation {
+    private AsyncInvocation() {
+    }
+
+    /**
+     * Returns whether or not the wrapper method should be invoked asynchronously
+     *
+     * @param method wrapper method
+     * @return true if the wrapper method returns a CompletableFuture or CompletionStage
+     */
+    static boolean isAsync(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+    }
+
+    /**
+     * Runs {@code target} on the executor of {@code batch}, completing the returned future with its result.
+     * If no batch is specified, the target is run on the calling thread.
+     * Targets which already return a CompletionStage are flattened into the returned future.
+     *
+     * @param target mapped invocation to run
+     * @param batch  batch of the wrapper being invoked, or null to run on the calling thread
+     * @return future completed with the result of the invocation
+     */
+    static CompletableFuture<Object> submit(Target target, Batch batch) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (batch == null)
+            complete(target, future);
+        else
+            batch.add(new Call(target, future));
+        return future;
+    }
+
+    /**
+     * Returns a batch running the asynchronous invocations of a single wrapper on {@code executor}
+     *
+     * @param executor executor running the invocations, or null to run them on the calling thread
+     * @return Batch for the executor, or null if no executor is specified
+     */
+    static Batch batch(Executor executor) {
+        return executor == null ? null : new Batch(executor);
+    }
+
+    private static void complete(Target target, CompletableFuture<Object> future) {
+        try {
+            Object value = target.invoke();
+            if (value instanceof CompletionStage) {
+                ((CompletionStage<?>) value).whenComplete((result, throwable) -> {
+                    if (throwable != null)
+                        future.completeExceptionally(throwable);
+                    else
+                        future.complete(result);
+                });
+            } else {
+                future.complete(value);
+            }
+        } catch (InvocationTargetException e) {
+            future.completeExceptionally(e.getCause());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Batch
+     * <p>
+     * The pending asynchronous invocations of a single wrapper.
+     * At most one task of the executor drains a batch at a time; invocations made while it runs are picked up by the same task.
+     */
+    static final class Batch {
+        private final Executor executor;
+        private final ConcurrentLinkedQueue<Call> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Batch(Executor executor) {
+            this.executor = executor;
+        }
+
+        private void add(Call call) {
+            pending.add(call);
+            if (!scheduled.compareAndSet(false, true))
+                return;
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                Call rejected;
+                while ((rejected = pending.poll()) != null)
+                    rejected.future.completeExceptionally(e);
+            }
+        }
+
+        private void drain() {
+            do {
+                Call call;
+                while ((call = pending.poll()) != null)
+                    complete(call.target, call.future);
+                scheduled.set(false);
+            } while (!pending.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+
+    /**
+     * Call
+     * <p>
+     * A pending invocation and the future completed with its result.
+     */
+    private static final class Call {
+        private final Target target;
+        private final CompletableFuture<Object> future;
+
+        private Call(Target target, CompletableFuture<Object> future) {
+            this.target = target;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Target
+     * <p>
+     * A mapped invocation to be run asynchronously.
+     */
+    interface Target {
+        Object invoke() throws Throwable;
+    }
+}
@@ -0,0 +1,135 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * ChangeTracker
+ * <p>
+ * Tracks which mapped values of a wrapper changed since a baseline was recorded.
+ * The baseline stores primitive members as raw bits in a single long array and reference members in an Object array,
+ * so recording and diffing a baseline reads every member once through its compiled accessor without boxing primitives.
+ * Reference members are compared with Object#equals(Object), so objects mutated in place are not reported as changed.
+ *
+ * @author Ian Caffey
+ * @see MappingSchema
+ * @since 1.0
+ */
+public final class ChangeTracker {
+    private final MappingSchema schema;
+    private final Object source;
+    private final long[] primitives;
+    private final Object[] references;
+
+    /**
+     * Constructs a ChangeTracker for a source read through the schema and records the initial baseline
+     *
+     * @param schema schema of the wrapper class
+     * @param source source of the wrapper, ignored by schemas of GlobalMappedMember objects
+     * @throws Throwable the exception thrown by a target method
+     */
+    public ChangeTracker(MappingSchema schema, Object source) throws Throwable {
+        if (schema == null)
+            throw new IllegalArgumentException();
+        this.schema = schema;
+        this.source = source;
+        this.primitives = new long[schema.primitives()];
+        this.references = new Object[schema.size() - schema.primitives()];
+        baseline();
+    }
+
+    /**
+     * Creates a ChangeTracker for a wrapper created by WrapperFactory or ConfiguredFactory and records the initial baseline
+     *
+     * @param wrapper wrapper whose mapped values are tracked
+     * @return ChangeTracker of the wrapper
+     * @throws IllegalArgumentException     if {@code wrapper} is not a wrapper handled by a CompactMappingInvocationHandler, MappingInvocationHandler or GlobalMappingInvocationHandler
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     * @throws Throwable                    the exception thrown by a target method
+     */
+    public static ChangeTracker of(Object wrapper) throws Throwable {
+        if (wrapper == null || !Proxy.isProxyClass(wrapper.getClass()))
+            throw new IllegalArgumentException();
+        InvocationHandler handler = Proxy.getInvocationHandler(wrapper);
+        Object source = handler instanceof CompactMappingInvocationHandler ? ((CompactMappingInvocationHandler<?>) handler).source()
+                : handler instanceof MappingInvocationHandler ? ((MappingInvocationHandler<?>) handler).source() : null;
+        Class<?> wrapperClass = wrapper.getClass().getInterfaces()[0];
+        if (source != null)
+            return new ChangeTracker(MappingSchema.of(wrapperClass, source.getClass()), source);
+        if (handler instanceof GlobalMappingInvocationHandler)
+            return new ChangeTracker(((GlobalMappingInvocationHandler) handler).schema(wrapperClass), null);
+        throw new IllegalArgumentException(wrapper.getClass() + " is not handled by a mapping handler.");
+    }
+
+    /**
+     * Returns the schema of the tracked wrapper
+     *
+     * @return MappingSchema of the tracked wrapper
+     */
+    public MappingSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Records the current mapped values as the baseline
+     *
+     * @throws Throwable the exception thrown by a target method
+     */
+    public synchronized void baseline() throws Throwable {
+        for (int i = 0; i < schema.size(); i++) {
+            if (schema.type(i).isPrimitive())
+                primitives[schema.slot(i)] = schema.bits(i, source);
+            else
+                references[schema.slot(i)] = schema.reference(i, source);
+        }
+    }
+
+    /**
+     * Returns the names of the wrapper methods whose mapped values differ from the baseline
+     *
+     * @return changed wrapper method names in schema order
+     * @throws Throwable the exception thrown by a target method
+     */
+    public synchronized Set<String> changes() throws Throwable {
+        return changes(false);
+    }
+
+    /**
+     * Returns the names of the wrapper methods whose mapped values differ from the baseline, then records the current values as the baseline
+     *
+     * @return changed wrapper method names in schema order
+     * @throws Throwable the exception thrown by a target method
+     */
+    public synchronized Set<String> commit() throws Throwable {
+        return changes(true);
+    }
+
+    private Set<String> changes(boolean commit) throws Throwable {
+        Set<String> changes = null;
+        for (int i = 0; i < schema.size(); i++) {
+            int slot = schema.slot(i);
+            boolean changed;
+            if (schema.type(i).isPrimitive()) {
+                long bits = schema.bits(i, source);
+                changed = bits != primitives[slot];
+                if (commit)
+                    primitives[slot] = bits;
+            } else {
+                Object value = schema.reference(i, source);
+                changed = !Objects.equals(value, references[slot]);
+                if (commit)
+                    references[slot] = value;
+            }
+            if (changed) {
+                if (changes == null)
+                    changes = new LinkedHashSet<>();
+                changes.add(schema.name(i));
+            }
+        }
+        return changes == null ? Collections.<String>emptySet() : changes;
+    }
+}
@@ -0,0 +1,59 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * CompactMappingInvocationHandler
+ * <p>
+ * An InvocationHandler which maps all abstract methods annotated with MappedMember to the appropriate target field/method of its source,
+ * holding nothing but the source. Accessors are shared per source class through MappingTable, so a wrapper costs its proxy instance and
+ * one single-field handler.
+ * Object#equals(Object) compares identity. Compact wrappers are synchronous: wrapper methods returning a CompletableFuture run on the
+ * calling thread and return a completed future, as an executor and its per-wrapper batch would be state of their own;
+ * use MappingInvocationHandler for an Equality or an Executor.
+ *
+ * @author Ian Caffey
+ * @see MappingInvocationHandler
+ * @since 1.0
+ */
+public final class CompactMappingInvocationHandler<E> implements InvocationHandler {
+    private final E source;
+
+    /**
+     * Constructs an InvocationHandler with a source object to map methods to
+     *
+     * @param source object holding the data to be retrieved
+     * @throws IllegalArgumentException if {@code source}
+     *                                  is null.
+     */
+    public CompactMappingInvocationHandler(E source) {
+        if (source == null)
+            throw new IllegalArgumentException();
+        this.source = source;
+    }
+
+    /**
+     * Returns the source object to map methods to
+     *
+     * @return object holding the data to be retrieved
+     */
+    public E source() {
+        return source;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        MappedAccessor accessor = MappingTable.of(source.getClass()).intercepted(method);
+        if (accessor == null) {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
+                return Wrapper.class.getCanonicalName() + "[" + source.getClass().getCanonicalName() + "]";
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1 && Object.class.equals(method.getParameterTypes()[0]))
+                return proxy == args[0];
+            throw new MappingException(method);
+        }
+        if (AsyncInvocation.isAsync(method))
+            return AsyncInvocation.submit(() -> accessor.invoke(source, args), null);
+        return accessor.invoke(source, args);
+    }
+}
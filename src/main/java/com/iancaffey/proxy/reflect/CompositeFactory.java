@@ -0,0 +1,278 @@
+package com.iancaffey.proxy.reflect;
+
+import com.iancaffey.proxy.util.Equality;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * CompositeFactory
+ * <p>
+ * A factory for composite wrappers: single proxy instances implementing several wrapper classes at once.
+ * Each view is either a wrapper class annotated with MappedMember backed by its own source, or a ConfiguredFactory backed by its GlobalMappedMember models.
+ * All views are merged into one precompiled dispatch table shared by every instance, and wrapper methods mapped differently by two views are rejected when the view is added.
+ * A method signature declared by several views is one method of the proxy, so its mapping is registered under the method of every view declaring it,
+ * whichever view the proxy dispatches it through; signatures whose return types cannot be implemented by one method are rejected as well.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class CompositeFactory {
+    private final List<Class<?>> interfaces = new ArrayList<>();
+    private final List<Class<?>> sourceClasses = new ArrayList<>();
+    private final Map<Method, Dispatch> dispatch = new HashMap<>();
+    private final Map<String, Method> signatures = new HashMap<>();
+    private final Map<String, List<Method>> declarations = new HashMap<>();
+    private Equality equality;
+    private Executor executor;
+    private volatile Composite composite;
+
+    /**
+     * Adds a wrapper class whose MappedMember methods are mapped to a source of {@code sourceClass}.
+     * Sources are passed to #newInstance(Object...) in the order their views were added.
+     *
+     * @param wrapperClass wrapper class to be implemented
+     * @param sourceClass  class of the source backing the wrapper class
+     * @return this
+     * @throws MappingException             if a wrapper method is already mapped differently by another view, or declared by another view with an incompatible return type
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public synchronized CompositeFactory view(Class<?> wrapperClass, Class<?> sourceClass) throws MappingException, ReflectiveOperationException {
+        if (wrapperClass == null || sourceClass == null || !wrapperClass.isInterface())
+            throw new IllegalArgumentException();
+        MappingTable table = MappingTable.of(sourceClass);
+        Map<Method, Dispatch> entries = new HashMap<>();
+        for (Method method : wrapperClass.getMethods()) {
+            MappedAccessor accessor = table.intercepted(method);
+            if (accessor != null)
+                entries.put(method, new Dispatch(sourceClasses.size(), null, accessor, AsyncInvocation.isAsync(method)));
+        }
+        merge(wrapperClass, entries);
+        sourceClasses.add(sourceClass);
+        return this;
+    }
+
+    /**
+     * Adds the wrapper class of a ConfiguredFactory whose methods are mapped by its GlobalMappedMember objects and intercepted by its interceptors.
+     *
+     * @param factory factory providing the wrapper class and its mappings
+     * @return this
+     * @throws MappingException             if a wrapper method is already mapped differently by another view, or declared by another view with an incompatible return type
+     * @throws ReflectiveOperationException if a wrapper method or target field/method could not be found or accessed
+     */
+    public synchronized CompositeFactory view(ConfiguredFactory<?, ?> factory) throws MappingException, ReflectiveOperationException {
+        if (factory == null)
+            throw new IllegalArgumentException();
+        Class<?> wrapperClass = factory.wrapperClass();
+        Map<Method, Dispatch> entries = new HashMap<>();
+        GlobalMappingInvocationHandler.Table table = factory.table();
+        for (GlobalMappedMember mapping : table.mappings().values()) {
+            Class<?>[] parameterTypes = mapping instanceof GlobalMappedMethod ? ((GlobalMappedMethod) mapping).rawWrapperParameterTypes() : null;
+            Method method = wrapperClass.getMethod(mapping.wrapper(), parameterTypes == null ? new Class<?>[0] : parameterTypes);
+            GlobalMappingInvocationHandler.Binding binding = table.binding(method);
+            entries.put(method, new Dispatch(-1, binding.model, binding.accessor, binding.async));
+        }
+        merge(wrapperClass, entries);
+        return this;
+    }
+
+    private void merge(Class<?> wrapperClass, Map<Method, Dispatch> entries) throws MappingException {
+        if (interfaces.contains(wrapperClass))
+            throw new IllegalArgumentException(wrapperClass + " is already a view of this composite.");
+        Map<String, Method> signatures = new HashMap<>(this.signatures);
+        for (Map.Entry<Method, Dispatch> entry : entries.entrySet()) {
+            Method method = entry.getKey();
+            Method existing = signatures.putIfAbsent(signature(method), method);
+            if (existing != null && !dispatch(existing, entries).equals(entry.getValue()))
+                throw new MappingException(method + " is mapped differently by " + existing.getDeclaringClass().getName() + ".");
+        }
+        Map<String, List<Method>> declarations = new HashMap<>();
+        for (Map.Entry<String, List<Method>> entry : this.declarations.entrySet())
+            declarations.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        for (Method method : wrapperClass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()))
+                continue;
+            List<Method> methods = declarations.computeIfAbsent(signature(method), signature -> new ArrayList<>());
+            methods.add(method);
+            if (!compatible(methods))
+                throw new MappingException(method + " has a return type incompatible with " + methods.get(0) + ".");
+        }
+        Map<Method, Dispatch> dispatch = new HashMap<>();
+        for (Map.Entry<String, Method> entry : signatures.entrySet()) {
+            Dispatch target = dispatch(entry.getValue(), entries);
+            for (Method method : declarations.get(entry.getKey()))
+                dispatch.put(method, target);
+        }
+        this.signatures.putAll(signatures);
+        this.declarations.clear();
+        this.declarations.putAll(declarations);
+        this.dispatch.clear();
+        this.dispatch.putAll(dispatch);
+        interfaces.add(wrapperClass);
+        composite = null;
+    }
+
+    private Dispatch dispatch(Method method, Map<Method, Dispatch> entries) {
+        Dispatch dispatch = entries.get(method);
+        return dispatch != null ? dispatch : this.dispatch.get(method);
+    }
+
+    /**
+     * Returns whether or not methods of the same signature can be implemented by one proxy method, which requires one of their return types
+     * to be assignable to all the others.
+     *
+     * @param methods methods of the same signature declared by the views
+     * @return true if one return type is assignable to every other return type
+     */
+    private static boolean compatible(List<Method> methods) {
+        for (Method method : methods) {
+            boolean assignable = true;
+            for (Method other : methods)
+                assignable &= other.getReturnType().isAssignableFrom(method.getReturnType());
+            if (assignable)
+                return true;
+        }
+        return false;
+    }
+
+    private static String signature(Method method) {
+        StringBuilder builder = new StringBuilder(method.getName()).append('(');
+        for (Class<?> type : method.getParameterTypes())
+            builder.append(type.getName()).append(',');
+        return builder.append(')').toString();
+    }
+
+    /**
+     * Sets the object which tests equality in Object#equals()
+     *
+     * @param equality Equality object to test comparison
+     * @return this
+     */
+    public synchronized CompositeFactory equality(Equality equality) {
+        this.equality = equality;
+        composite = null;
+        return this;
+    }
+
+    /**
+     * Sets the executor running wrapper methods which return a CompletableFuture.
+     * If no executor is set, those methods are run on the calling thread and return a completed future.
+     * Asynchronous invocations are batched per composite instance.
+     *
+     * @param executor Executor running asynchronous wrapper methods
+     * @return this
+     */
+    public synchronized CompositeFactory executor(Executor executor) {
+        this.executor = executor;
+        composite = null;
+        return this;
+    }
+
+    /**
+     * Returns the wrapper classes implemented by the composite instances
+     *
+     * @return wrapper classes in the order their views were added
+     */
+    public synchronized List<Class<?>> interfaces() {
+        return Collections.unmodifiableList(new ArrayList<>(interfaces));
+    }
+
+    /**
+     * Creates a new composite instance implementing every wrapper class added to this factory.
+     *
+     * @param sources sources backing each view added through #view(Class, Class), in the order the views were added
+     * @return a newly allocated instance implementing every wrapper class
+     * @throws IllegalArgumentException if the number of sources does not match the views, or a source is not an instance of its source class
+     */
+    public Object newInstance(Object... sources) {
+        Composite composite = composite();
+        if (sources == null || sources.length != composite.sourceClasses.length)
+            throw new IllegalArgumentException();
+        for (int i = 0; i < sources.length; i++)
+            if (!composite.sourceClasses[i].isInstance(sources[i]))
+                throw new IllegalArgumentException("Source " + i + " is not an instance of " + composite.sourceClasses[i].getName() + ".");
+        CompositeInvocationHandler handler = new CompositeInvocationHandler(composite.dispatch, composite.name, sources.clone(), composite.equality, composite.executor);
+        return ProxyConstructor.newInstance(composite.constructor, handler);
+    }
+
+    private Composite composite() {
+        Composite composite = this.composite;
+        if (composite == null) {
+            synchronized (this) {
+                composite = this.composite;
+                if (composite == null) {
+                    if (interfaces.isEmpty())
+                        throw new IllegalStateException("Composite has no views.");
+                    this.composite = composite = new Composite(this);
+                }
+            }
+        }
+        return composite;
+    }
+
+    /**
+     * Dispatch
+     * <p>
+     * A precompiled entry of the merged dispatch table.
+     */
+    static final class Dispatch {
+        final int source;
+        final Object model;
+        final MappedAccessor accessor;
+        final boolean async;
+
+        Dispatch(int source, Object model, MappedAccessor accessor, boolean async) {
+            this.source = source;
+            this.model = model;
+            this.accessor = accessor;
+            this.async = async;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Dispatch))
+                return false;
+            Dispatch dispatch = (Dispatch) o;
+            return source == dispatch.source && model == dispatch.model && accessor == dispatch.accessor && async == dispatch.async;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source + System.identityHashCode(accessor);
+        }
+    }
+
+    /**
+     * Composite
+     * <p>
+     * An immutable snapshot of the factory: the merged dispatch table and the constructor of the generated proxy class.
+     */
+    private static final class Composite {
+        private final Map<Method, Dispatch> dispatch;
+        private final Class<?>[] sourceClasses;
+        private final String name;
+        private final Equality equality;
+        private final Executor executor;
+        private final MethodHandle constructor;
+
+        private Composite(CompositeFactory factory) {
+            Class<?>[] interfaces = factory.interfaces.toArray(new Class<?>[factory.interfaces.size()]);
+            this.dispatch = new HashMap<>(factory.dispatch);
+            this.sourceClasses = factory.sourceClasses.toArray(new Class<?>[factory.sourceClasses.size()]);
+            StringBuilder name = new StringBuilder(Wrapper.class.getCanonicalName()).append("[Composite(");
+            for (int i = 0; i < interfaces.length; i++)
+                name.append(i == 0 ? "" : ", ").append(interfaces[i].getCanonicalName());
+            this.name = name.append(")]").toString();
+            this.equality = factory.equality;
+            this.executor = factory.executor;
+            this.constructor = ProxyConstructor.create(interfaces[0].getClassLoader(), interfaces);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.iancaffey.proxy.reflect;
+
+import com.iancaffey.proxy.util.Equality;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * CompositeInvocationHandler
+ * <p>
+ * An InvocationHandler for composite wrappers, dispatching every wrapper method through the merged dispatch table of a CompositeFactory.
+ * The dispatch table is shared by every instance created by the factory; each handler only holds its sources.
+ *
+ * @author Ian Caffey
+ * @see CompositeFactory
+ * @since 1.0
+ */
+final class CompositeInvocationHandler implements InvocationHandler {
+    private final Map<Method, CompositeFactory.Dispatch> dispatch;
+    private final String name;
+    private final Object[] sources;
+    private final Equality equality;
+    private final AsyncInvocation.Batch batch;
+
+    CompositeInvocationHandler(Map<Method, CompositeFactory.Dispatch> dispatch, String name, Object[] sources, Equality equality, Executor executor) {
+        this.dispatch = dispatch;
+        this.name = name;
+        this.sources = sources;
+        this.equality = equality;
+        this.batch = AsyncInvocation.batch(executor);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        CompositeFactory.Dispatch entry = dispatch.get(method);
+        if (entry == null) {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
+                return name;
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0)
+                return System.identityHashCode(proxy);
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1 && Object.class.equals(method.getParameterTypes()[0])) {
+                if (equality != null)
+                    return equality.equals(proxy, args[0]);
+                return proxy == args[0];
+            }
+            throw new MappingException(method);
+        }
+        Object receiver = entry.source < 0 ? entry.model : sources[entry.source];
+        if (entry.async)
+            return AsyncInvocation.submit(() -> entry.accessor.invoke(receiver, args), batch);
+        return entry.accessor.invoke(receiver, args);
+    }
+}
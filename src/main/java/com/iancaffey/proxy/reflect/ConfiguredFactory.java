@@ -1,11 +1,15 @@
 package com.iancaffey.proxy.reflect;
 
-import com.iancaffey.proxy.WrapperFactory;
 import com.iancaffey.proxy.util.Equality;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * ConfiguredFactory
@@ -19,8 +23,11 @@ import java.util.List;
  */
 public class ConfiguredFactory<W, E> {
     private final List<GlobalMappedMember> mappings = new ArrayList<>();
+    private final List<Interceptor> interceptors = new ArrayList<>();
     private final Class<W> wrapperClass;
     private Equality equality;
+    private Executor executor;
+    private volatile Configuration configuration;
 
     /**
      * Constructs a ConfiguredFactory with the specified wrapper class for mapping.
@@ -42,11 +49,59 @@ public class ConfiguredFactory<W, E> {
      * @return this
      */
     public synchronized ConfiguredFactory<W, E> map(GlobalMappedMember... mappings) {
-        if (mappings != null)
+        if (mappings != null) {
             Collections.addAll(this.mappings, mappings);
+            configuration = null;
+        }
         return this;
     }
 
+    /**
+     * Adds interceptors invoked around every mapped wrapper method of the instances created by this factory.
+     * Interceptors run in the order they are added, before those attached to the wrapper class by Intercepted, and are composed
+     * into the compiled accessor of each wrapper method once rather than walked on each call.
+     *
+     * @param interceptors Interceptors to be added
+     * @return this
+     */
+    public synchronized ConfiguredFactory<W, E> intercept(Interceptor... interceptors) {
+        if (interceptors != null) {
+            for (Interceptor interceptor : interceptors)
+                if (interceptor == null)
+                    throw new IllegalArgumentException();
+            Collections.addAll(this.interceptors, interceptors);
+            configuration = null;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the interceptors invoked around every mapped wrapper method
+     *
+     * @return Interceptors in the order they are invoked
+     */
+    public synchronized Interceptor[] interceptors() {
+        return interceptors.toArray(new Interceptor[interceptors.size()]);
+    }
+
+    /**
+     * Adds every GlobalMappedMember of a mapping descriptor, fully resolving them before they are added.
+     * Non-static targets are mapped to the model instance provided by {@code models} for their target class.
+     *
+     * @param reader descriptor source
+     * @param models provides the model instance of each non-static target class
+     * @return this
+     * @throws IOException                  if the descriptor could not be read or is malformed
+     * @throws ReflectiveOperationException if a class could not be loaded or a target field/method could not be found or accessed
+     * @see MappingDescriptor
+     */
+    public ConfiguredFactory<W, E> load(Reader reader, Function<Class<?>, ?> models) throws IOException, ReflectiveOperationException {
+        if (reader == null)
+            throw new IllegalArgumentException();
+        List<GlobalMappedMember> mappings = MappingDescriptor.read(reader, wrapperClass, models);
+        return map(mappings.toArray(new GlobalMappedMember[mappings.size()]));
+    }
+
     /**
      * Sets the object which tests equality in Object#equals()
      *
@@ -55,6 +110,7 @@ public class ConfiguredFactory<W, E> {
      */
     public synchronized ConfiguredFactory<W, E> equality(Equality equality) {
         this.equality = equality;
+        configuration = null;
         return this;
     }
 
@@ -63,26 +119,102 @@ public class ConfiguredFactory<W, E> {
      *
      * @return Equality object to test comparison
      */
-    public Equality equality() {
+    public synchronized Equality equality() {
         return equality;
     }
 
+    /**
+     * Sets the executor running wrapper methods which return a CompletableFuture.
+     * If no executor is set, those methods are run on the calling thread and return a completed future.
+     * Asynchronous invocations are batched per instance, so each instance created while an executor is set holds its own handler.
+     *
+     * @param executor Executor running asynchronous wrapper methods
+     * @return this
+     */
+    public synchronized ConfiguredFactory<W, E> executor(Executor executor) {
+        this.executor = executor;
+        configuration = null;
+        return this;
+    }
+
+    /**
+     * Returns the executor running wrapper methods which return a CompletableFuture
+     *
+     * @return Executor running asynchronous wrapper methods
+     */
+    public synchronized Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Returns the wrapper class mapped by this factory
+     *
+     * @return model class to be wrapped and mapped
+     */
+    public Class<W> wrapperClass() {
+        return wrapperClass;
+    }
+
     /**
      * Returns all GlobalMappedMember to be used for the InvocationHandler for mapping wrapper methods to target fields/methods.
      *
      * @return EntityMappings to be used for mapping wrapper methods
      */
-    public GlobalMappedMember[] mappings() {
+    public synchronized GlobalMappedMember[] mappings() {
         return mappings.toArray(new GlobalMappedMember[mappings.size()]);
     }
 
+    /**
+     * Pre-resolves every GlobalMappedMember and the proxy class of the wrapper class, so the first instances created do not pay for them.
+     *
+     * @return this
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public ConfiguredFactory<W, E> warmUp() throws ReflectiveOperationException {
+        Class<?>[] none = new Class<?>[0];
+        GlobalMappingInvocationHandler.Table table = configuration().table;
+        for (GlobalMappedMember mapping : table.mappings().values()) {
+            Class<?>[] parameterTypes = mapping instanceof GlobalMappedMethod ? ((GlobalMappedMethod) mapping).rawWrapperParameterTypes() : null;
+            table.binding(wrapperClass.getMethod(mapping.wrapper(), parameterTypes == null ? none : parameterTypes));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the mapping table shared by the instances created by this factory
+     *
+     * @return Table of the current configuration
+     */
+    GlobalMappingInvocationHandler.Table table() {
+        return configuration().table;
+    }
+
+    /**
+     * Returns the current configuration, taking a snapshot of the factory if it was changed since the last instance was created.
+     *
+     * @return immutable Configuration shared by every instance created until the factory is changed
+     */
+    private Configuration configuration() {
+        Configuration configuration = this.configuration;
+        if (configuration == null) {
+            synchronized (this) {
+                configuration = this.configuration;
+                if (configuration == null)
+                    this.configuration = configuration = new Configuration(this);
+            }
+        }
+        return configuration;
+    }
+
     /**
      * Creates a new instance of the wrapper class with all wrapper methods properly mapped to the target fields/methods
      *
      * @return a newly allocated instance of the wrapper class with all wrapper methods properly mapped to the target class
      */
     public final W newInstance() {
-        return newInstance(equality());
+        Configuration configuration = configuration();
+        GlobalMappingInvocationHandler handler = configuration.handler != null ? configuration.handler : new GlobalMappingInvocationHandler(configuration.table, configuration.equality, configuration.executor);
+        return ProxyConstructor.newInstance(configuration.constructor, handler);
     }
 
     /**
@@ -93,6 +225,31 @@ public class ConfiguredFactory<W, E> {
      * @return a newly allocated instance of the wrapper class with all wrapper methods properly mapped to the target class
      */
     public final W newInstance(Equality equality) {
-        return WrapperFactory.newInstance(wrapperClass, new GlobalMappingInvocationHandler(equality, mappings()));
+        Configuration configuration = configuration();
+        GlobalMappingInvocationHandler handler = equality == configuration.equality && configuration.handler != null ? configuration.handler : new GlobalMappingInvocationHandler(configuration.table, equality, configuration.executor);
+        return ProxyConstructor.newInstance(configuration.constructor, handler);
+    }
+
+    /**
+     * Configuration
+     * <p>
+     * An immutable snapshot of the factory: the proxy constructor of the wrapper class, the mapping table and the handler shared by every instance it creates.
+     * Wrappers of a ConfiguredFactory hold no state of their own, so each instance is only its proxy object, unless an executor is set:
+     * asynchronous invocations are batched per instance, so there is no shared handler and each instance gets its own.
+     */
+    private static final class Configuration {
+        private final GlobalMappingInvocationHandler.Table table;
+        private final Equality equality;
+        private final Executor executor;
+        private final GlobalMappingInvocationHandler handler;
+        private final MethodHandle constructor;
+
+        private Configuration(ConfiguredFactory<?, ?> factory) {
+            this.table = new GlobalMappingInvocationHandler.Table(factory.mappings.toArray(new GlobalMappedMember[factory.mappings.size()]), factory.interceptors.toArray(new Interceptor[factory.interceptors.size()]));
+            this.equality = factory.equality;
+            this.executor = factory.executor;
+            this.handler = executor == null ? new GlobalMappingInvocationHandler(table, equality, null) : null;
+            this.constructor = ProxyConstructor.of(factory.wrapperClass);
+        }
     }
 }
@@ -16,6 +16,7 @@ public class GlobalMappedMember {
     private final boolean declared;
     private final int access;
     private final TargetType type;
+    private volatile MappedAccessor accessor;
 
     /**
      * Constructs a GlobalMappedMember.
@@ -136,4 +137,52 @@ public class GlobalMappedMember {
     public TargetType type() {
         return type;
     }
+
+    /**
+     * Returns the compiled accessor for the target field/method, resolving it on first use.
+     * Static targets are compiled without a receiver, and static final fields are folded into a constant.
+     *
+     * @return MappedAccessor for the target field/method
+     * @throws IllegalArgumentException     if the mapping has no model and the target field/method is not static
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    MappedAccessor accessor() throws ReflectiveOperationException {
+        MappedAccessor accessor = this.accessor;
+        if (accessor == null)
+            this.accessor = accessor = validate(resolve());
+        return accessor;
+    }
+
+    /**
+     * Sets the compiled accessor for the target field/method, sharing an accessor already resolved for an identical target.
+     *
+     * @param accessor MappedAccessor for the target field/method
+     * @throws IllegalArgumentException if the mapping has no model and the target field/method is not static
+     */
+    void accessor(MappedAccessor accessor) {
+        this.accessor = validate(accessor);
+    }
+
+    private MappedAccessor validate(MappedAccessor accessor) {
+        if (model == null && !accessor.isStatic())
+            throw new IllegalArgumentException(modelClass.getName() + "#" + name + " is mapped with static access but is not static.");
+        return accessor;
+    }
+
+    /**
+     * Resolves the target field/method and compiles an accessor for it.
+     *
+     * @return MappedAccessor for the target field/method
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    MappedAccessor resolve() throws ReflectiveOperationException {
+        switch (type) {
+            case METHOD:
+                return MappedAccessor.of(declared ? modelClass.getDeclaredMethod(name) : modelClass.getMethod(name));
+            case FIELD:
+                return MappedAccessor.of(declared ? modelClass.getDeclaredField(name) : modelClass.getField(name));
+            default:
+                throw new IllegalStateException("Invalid type for ValueRetriever, " + type);
+        }
+    }
 }
@@ -198,9 +198,9 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, Class<?> modelClass, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, modelClass);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
     }
 
     /**
@@ -216,9 +216,9 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, Object model, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, model);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
     }
 
     /**
@@ -235,9 +235,9 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, Class<?> modelClass, Object model, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, modelClass, model);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
     }
 
     /**
@@ -254,9 +254,9 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, boolean declared, Class<?> modelClass, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, declared, modelClass);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
     }
 
     /**
@@ -273,9 +273,9 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, boolean declared, Object model, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, declared, model);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
     }
 
     /**
@@ -293,9 +293,32 @@ public class GlobalMappedMethod extends GlobalMappedMember {
      */
     public GlobalMappedMethod(int access, String wrapperName, String name, boolean declared, Class<?> modelClass, Object model, Class<?>[] wrapperParameterTypes, Class<?>[] parameterTypes, Object[] parameterValues) {
         super(access, wrapperName, name, TargetType.METHOD, declared, modelClass, model);
-        this.wrapperParameterTypes = wrapperParameterTypes;
-        this.parameterTypes = parameterTypes;
-        this.parameterValues = parameterValues;
+        this.wrapperParameterTypes = wrapperParameterTypes == null ? null : wrapperParameterTypes.clone();
+        this.parameterTypes = parameterTypes == null ? null : parameterTypes.clone();
+        this.parameterValues = parameterValues == null ? null : parameterValues.clone();
+    }
+
+    /**
+     * Returns a placeholder for a parameter value which forwards an argument of the wrapper method instead of a fixed value.
+     * Placeholders let a mapping mix fixed values with wrapper arguments, for example {@code new Object[]{"prefix", forward(0)}}.
+     *
+     * @param index index of the wrapper method argument to forward
+     * @return placeholder for the parameter value
+     * @throws IllegalArgumentException if {@code index} is negative
+     */
+    public static Object forward(int index) {
+        if (index < 0)
+            throw new IllegalArgumentException();
+        return new ForwardedArgument(index);
+    }
+
+    /**
+     * Returns the parameter types of the wrapper method without copying them. The array must not be modified.
+     *
+     * @return parameter types of the wrapper method
+     */
+    Class<?>[] rawWrapperParameterTypes() {
+        return wrapperParameterTypes;
     }
 
     public Class<?>[] wrapperParameterTypes() {
@@ -309,4 +332,72 @@ public class GlobalMappedMethod extends GlobalMappedMember {
     public Object[] parameterValues() {
         return parameterValues == null ? null : Arrays.copyOf(parameterValues, parameterValues.length);
     }
+
+    /**
+     * Resolves the target method and compiles an accessor for it.
+     * If the parameter types of the target method are not specified, the target method is selected once by overload resolution against
+     * the types of the arguments it is invoked with: the parameter values, or the types of the wrapper method arguments they forward,
+     * or the wrapper method parameter types if no parameter values are specified. Boxing, unboxing and variable arity methods are supported.
+     *
+     * @return MappedAccessor for the target method
+     * @throws IllegalArgumentException     if a forwarded index is out of range or the applicable overloads are ambiguous
+     * @throws ReflectiveOperationException if the target method could not be found or accessed
+     */
+    @Override
+    MappedAccessor resolve() throws ReflectiveOperationException {
+        int arguments = wrapperParameterTypes == null ? 0 : wrapperParameterTypes.length;
+        if (parameterValues != null)
+            for (Object value : parameterValues)
+                if (value instanceof ForwardedArgument && ((ForwardedArgument) value).index >= arguments)
+                    throw new IllegalArgumentException(wrapper() + " forwards argument " + ((ForwardedArgument) value).index + " but takes " + arguments + ".");
+        if (parameterTypes != null)
+            return MappedAccessor.of(declared() ? parent().getDeclaredMethod(name(), parameterTypes) : parent().getMethod(name(), parameterTypes), parameterValues, arguments);
+        Class<?>[] types = argumentTypes();
+        Overloads.Selection selection = Overloads.select(parent(), name(), declared(), types);
+        return MappedAccessor.of(selection.method, parameterValues, arguments, selection.varargs ? types.length : -1);
+    }
+
+    /**
+     * Returns the types of the arguments the target method is invoked with
+     *
+     * @return types of the parameter values, with forwarded arguments typed by the wrapper method, or the wrapper method parameter types
+     */
+    private Class<?>[] argumentTypes() {
+        if (parameterValues == null)
+            return wrapperParameterTypes == null ? new Class<?>[0] : wrapperParameterTypes.clone();
+        Class<?>[] types = new Class<?>[parameterValues.length];
+        for (int i = 0; i < types.length; i++) {
+            Object value = parameterValues[i];
+            types[i] = value instanceof ForwardedArgument ? wrapperParameterTypes[((ForwardedArgument) value).index] : value == null ? null : value.getClass();
+        }
+        return types;
+    }
+
+    /**
+     * ForwardedArgument
+     * <p>
+     * A parameter value placeholder forwarding an argument of the wrapper method.
+     */
+    static final class ForwardedArgument {
+        final int index;
+
+        private ForwardedArgument(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ForwardedArgument && ((ForwardedArgument) o).index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return "$" + index;
+        }
+    }
 }
@@ -2,11 +2,15 @@ package com.iancaffey.proxy.reflect;
 
 import com.iancaffey.proxy.util.Equality;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 /**
  * GlobalMappingInvocationHandler
@@ -17,8 +21,9 @@ import java.util.Map;
  * @since 1.0
  */
 public class GlobalMappingInvocationHandler implements InvocationHandler {
-    private final Map<String, GlobalMappedMember> mapping;
+    private final Table table;
     private final Equality equality;
+    private final AsyncInvocation.Batch batch;
 
     /**
      * Constructs an InvocationHandler with EntityMappings to use to map all wrapper methods accordingly
@@ -40,14 +45,34 @@ public class GlobalMappingInvocationHandler implements InvocationHandler {
      *                                  is null.
      */
     public GlobalMappingInvocationHandler(Equality equality, GlobalMappedMember... mappings) {
-        if (mappings == null)
-            throw new IllegalArgumentException();
-        this.equality = equality;
-        this.mapping = new HashMap<>();
-        for (GlobalMappedMember mapping : mappings)
-            this.mapping.put(mapping instanceof GlobalMappedMethod ? key(mapping.wrapper(), ((GlobalMappedMethod) mapping).wrapperParameterTypes()) : mapping.wrapper(), mapping);
+        this(equality, null, mappings);
+    }
+
+    /**
+     * Constructs an InvocationHandler with EntityMappings to use to map all wrapper methods accordingly
+     *
+     * @param equality method invoked for Object#equals(Object)
+     * @param executor executor running wrapper methods which return a CompletableFuture, if null, they are run on the calling thread
+     * @param mappings wrapper methods mappings for fields/methods
+     * @throws IllegalArgumentException if {@code source}
+     *                                  is null.
+     */
+    public GlobalMappingInvocationHandler(Equality equality, Executor executor, GlobalMappedMember... mappings) {
+        this(new Table(mappings), equality, executor);
     }
 
+    /**
+     * Constructs an InvocationHandler sharing a mapping table, such as the table of a ConfiguredFactory
+     *
+     * @param table    mapping table shared by several handlers
+     * @param equality method invoked for Object#equals(Object)
+     * @param executor executor running wrapper methods which return a CompletableFuture, if null, they are run on the calling thread
+     */
+    GlobalMappingInvocationHandler(Table table, Equality equality, Executor executor) {
+        this.table = table;
+        this.equality = equality;
+        this.batch = AsyncInvocation.batch(executor);
+    }
 
     /**
      * Returns an GlobalMappedMember with a wrapper name as specified
@@ -56,7 +81,18 @@ public class GlobalMappingInvocationHandler implements InvocationHandler {
      * @return GlobalMappedMember with the corresponding name
      */
     public GlobalMappedMember mapping(String name) {
-        return mapping.get(name);
+        return table.mappings.get(name);
+    }
+
+    /**
+     * Returns the schema of the mapped values of a wrapper class, resolving it on first use
+     *
+     * @param wrapperClass wrapper class handled by this handler
+     * @return MappingSchema of the mappings
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    MappingSchema schema(Class<?> wrapperClass) throws ReflectiveOperationException {
+        return table.schema(wrapperClass);
     }
 
     /**
@@ -67,6 +103,10 @@ public class GlobalMappingInvocationHandler implements InvocationHandler {
      * @return String key for a method with the given name and parameter types
      */
     public String key(String name, Class<?>... parameterTypes) {
+        return compress(name, parameterTypes);
+    }
+
+    private static String compress(String name, Class<?>[] parameterTypes) {
         if (parameterTypes == null)
             return name;
         StringBuilder builder = new StringBuilder(name);
@@ -125,8 +165,8 @@ public class GlobalMappingInvocationHandler implements InvocationHandler {
      */
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        GlobalMappedMember mapping = mapping(key(method.getName(), method.getParameterTypes()));
-        if (mapping == null) {
+        Binding binding = table.binding(method);
+        if (binding == null) {
             if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
                 return Wrapper.class.getCanonicalName() + "[DynamicEntityMapping(various target classes possible)]";
             if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
@@ -136,25 +176,121 @@ public class GlobalMappingInvocationHandler implements InvocationHandler {
             }
             return null;
         }
-        switch (mapping.type()) {
-            case METHOD:
-                if (mapping instanceof GlobalMappedMethod) {
-                    Class<?>[] parameterTypes = ((GlobalMappedMethod) mapping).parameterTypes();
-                    Method m = mapping.declared() ? mapping.parent().getDeclaredMethod(mapping.name(), parameterTypes == null ? method.getParameterTypes() : parameterTypes) : mapping.parent().getMethod(mapping.name(), parameterTypes == null ? method.getParameterTypes() : parameterTypes);
-                    m.setAccessible(true);
-                    Object[] parameterValues = ((GlobalMappedMethod) mapping).parameterValues();
-                    return m.invoke((mapping.access() & 0x8) != 0 ? null : mapping.model(), parameterValues == null ? args : parameterValues);
-                } else {
-                    Method m = mapping.declared() ? mapping.parent().getDeclaredMethod(mapping.name()) : mapping.parent().getMethod(mapping.name());
-                    m.setAccessible(true);
-                    return m.invoke((mapping.access() & 0x8) != 0 ? null : mapping.model());
-                }
-            case FIELD:
-                Field f = mapping.declared() ? mapping.parent().getDeclaredField(mapping.name()) : mapping.parent().getField(mapping.name());
-                f.setAccessible(true);
-                return f.get((mapping.access() & 0x8) != 0 ? null : mapping.model());
-            default:
-                throw new IllegalStateException("Invalid type for ValueRetriever, " + mapping.type());
+        if (binding.async)
+            return AsyncInvocation.submit(() -> binding.accessor.invoke(binding.model, args), batch);
+        return binding.accessor.invoke(binding.model, args);
+    }
+
+    /**
+     * Table
+     * <p>
+     * The mappings of a wrapper class and the bindings compiled from them, shared by every handler created from the same mappings.
+     * Each wrapper method is bound once, with the interceptors of the table and those attached by Intercepted composed into its accessor.
+     */
+    static final class Table {
+        private static final Object UNMAPPED = new Object();
+        private final Map<String, GlobalMappedMember> mappings;
+        private final Interceptor[] interceptors;
+        private final ConcurrentMap<Method, Object> bindings = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, MappingSchema> schemas = new ConcurrentHashMap<>();
+
+        /**
+         * Constructs a Table without interceptors
+         *
+         * @param mappings wrapper methods mappings for fields/methods
+         */
+        Table(GlobalMappedMember... mappings) {
+            this(mappings, new Interceptor[0]);
+        }
+
+        /**
+         * Constructs a Table
+         *
+         * @param mappings     wrapper methods mappings for fields/methods
+         * @param interceptors interceptors invoked around every mapped wrapper method, before those attached by Intercepted
+         */
+        Table(GlobalMappedMember[] mappings, Interceptor[] interceptors) {
+            if (mappings == null || interceptors == null)
+                throw new IllegalArgumentException();
+            Map<String, GlobalMappedMember> table = new HashMap<>();
+            for (GlobalMappedMember mapping : mappings)
+                table.put(mapping instanceof GlobalMappedMethod ? compress(mapping.wrapper(), ((GlobalMappedMethod) mapping).rawWrapperParameterTypes()) : mapping.wrapper(), mapping);
+            this.mappings = Collections.unmodifiableMap(table);
+            this.interceptors = interceptors.clone();
+        }
+
+        /**
+         * Returns the mappings of the table
+         *
+         * @return mappings keyed by the compressed key of their wrapper method
+         */
+        Map<String, GlobalMappedMember> mappings() {
+            return mappings;
+        }
+
+        /**
+         * Returns the binding of a wrapper method, compiling it on first use
+         *
+         * @param method wrapper method
+         * @return Binding of the method, or null if the method is not mapped
+         * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+         */
+        Binding binding(Method method) throws ReflectiveOperationException {
+            Object binding = bindings.get(method);
+            if (binding == null) {
+                GlobalMappedMember mapping = mappings.get(compress(method.getName(), method.getParameterTypes()));
+                binding = mapping == null ? UNMAPPED : new Binding(mapping.model(), mapping.accessor().intercept(method, interceptors(method)), AsyncInvocation.isAsync(method));
+                Object previous = bindings.putIfAbsent(method, binding);
+                if (previous != null)
+                    binding = previous;
+            }
+            return binding == UNMAPPED ? null : (Binding) binding;
+        }
+
+        private Interceptor[] interceptors(Method method) {
+            Interceptor[] annotated = MappingTable.interceptors(method);
+            if (annotated.length == 0)
+                return interceptors;
+            if (interceptors.length == 0)
+                return annotated;
+            Interceptor[] all = Arrays.copyOf(interceptors, interceptors.length + annotated.length);
+            System.arraycopy(annotated, 0, all, interceptors.length, annotated.length);
+            return all;
+        }
+
+        /**
+         * Returns the schema of the mapped values of a wrapper class, resolving it on first use
+         *
+         * @param wrapperClass wrapper class of the mappings
+         * @return MappingSchema of the mappings
+         * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+         */
+        MappingSchema schema(Class<?> wrapperClass) throws ReflectiveOperationException {
+            MappingSchema schema = schemas.get(wrapperClass);
+            if (schema == null) {
+                schema = MappingSchema.of(wrapperClass, mappings.values().toArray(new GlobalMappedMember[mappings.size()]));
+                MappingSchema previous = schemas.putIfAbsent(wrapperClass, schema);
+                if (previous != null)
+                    schema = previous;
+            }
+            return schema;
+        }
+    }
+
+    /**
+     * Binding
+     * <p>
+     * A wrapper method bound to the model and the compiled accessor of its mapping.
+     */
+    static final class Binding {
+        final Object model;
+        final MappedAccessor accessor;
+        final boolean async;
+
+        private Binding(Object model, MappedAccessor accessor, boolean async) {
+            this.model = model;
+            this.accessor = accessor;
+            this.async = async;
         }
     }
 }
@@ -0,0 +1,23 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Intercepted
+ * <p>
+ * An annotation that attaches interceptors to the mapped methods of a wrapper class, or to a single wrapper method.
+ * Interceptors of the wrapper class declaring the method run first, followed by the interceptors of the method, in the order they are listed.
+ * Each interceptor class must have a public no-arg constructor and is instantiated once.
+ *
+ * @author Ian Caffey
+ * @see Interceptor
+ * @since 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = {ElementType.TYPE, ElementType.METHOD})
+public @interface Intercepted {
+    public Class<? extends Interceptor>[] value();
+}
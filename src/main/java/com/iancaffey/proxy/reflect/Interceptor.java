@@ -0,0 +1,48 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.Method;
+
+/**
+ * Interceptor
+ * <p>
+ * Cross-cutting behavior around a mapped wrapper method, such as auditing, caching or security checks.
+ * Interceptors are composed into the compiled accessor of a wrapper method once, when the accessor is resolved, so invoking a wrapper
+ * method calls each interceptor directly without walking a list. Wrapper methods without interceptors use the plain accessor.
+ *
+ * @author Ian Caffey
+ * @see Intercepted
+ * @see ConfiguredFactory#intercept(Interceptor...)
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface Interceptor {
+    /**
+     * Intercepts an invocation of a mapped wrapper method.
+     *
+     * @param method wrapper method being invoked
+     * @param source object holding the data to be retrieved, or null for static targets mapped without a model
+     * @param args   arguments passed to the wrapper method, or null if the wrapper method takes no arguments
+     * @param next   the rest of the chain, ending with the target field/method
+     * @return value returned by the wrapper method
+     * @throws Throwable the exception to throw from the wrapper method
+     */
+    Object intercept(Method method, Object source, Object[] args, Invocation next) throws Throwable;
+
+    /**
+     * Invocation
+     * <p>
+     * The remainder of an interceptor chain.
+     */
+    @FunctionalInterface
+    interface Invocation {
+        /**
+         * Proceeds to the next interceptor, or to the target field/method if this is the end of the chain.
+         *
+         * @param source object holding the data to be retrieved
+         * @param args   arguments forwarded to the target method
+         * @return value of the target field/method
+         * @throws Throwable the exception thrown by the target method or a later interceptor
+         */
+        Object proceed(Object source, Object[] args) throws Throwable;
+    }
+}
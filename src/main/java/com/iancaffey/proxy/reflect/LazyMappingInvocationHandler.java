@@ -0,0 +1,109 @@
+package com.iancaffey.proxy.reflect;
+
+import com.iancaffey.proxy.util.Equality;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * LazyMappingInvocationHandler
+ * <p>
+ * A MappingInvocationHandler which defers creating its model object until the first mapped method is invoked.
+ * The model object is created at most once, even when the first invocations happen concurrently.
+ *
+ * @author Ian Caffey
+ * @see MappingInvocationHandler
+ * @since 1.0
+ */
+public class LazyMappingInvocationHandler<E> extends MappingInvocationHandler<E> {
+    private final Class<? extends E> sourceClass;
+    private Supplier<? extends E> supplier;
+    private volatile E source;
+
+    /**
+     * Constructs an InvocationHandler with a supplier of the model object to pull data from
+     *
+     * @param sourceClass class of the model object
+     * @param supplier    creates the model object on the first mapped invocation
+     * @throws IllegalArgumentException if {@code sourceClass} or {@code supplier}
+     *                                  is null.
+     */
+    public LazyMappingInvocationHandler(Class<? extends E> sourceClass, Supplier<? extends E> supplier) {
+        this(sourceClass, supplier, null);
+    }
+
+    /**
+     * Constructs an InvocationHandler with a supplier of the model object to pull data from
+     *
+     * @param sourceClass class of the model object
+     * @param supplier    creates the model object on the first mapped invocation
+     * @param equality    method invoked for Object#equals(Object)
+     * @throws IllegalArgumentException if {@code sourceClass} or {@code supplier}
+     *                                  is null.
+     */
+    public LazyMappingInvocationHandler(Class<? extends E> sourceClass, Supplier<? extends E> supplier, Equality equality) {
+        this(sourceClass, supplier, equality, null);
+    }
+
+    /**
+     * Constructs an InvocationHandler with a supplier of the model object to pull data from
+     *
+     * @param sourceClass class of the model object
+     * @param supplier    creates the model object on the first mapped invocation
+     * @param equality    method invoked for Object#equals(Object)
+     * @param executor    executor running wrapper methods which return a CompletableFuture, if null, they are run on the calling thread
+     * @throws IllegalArgumentException if {@code sourceClass} or {@code supplier}
+     *                                  is null.
+     */
+    public LazyMappingInvocationHandler(Class<? extends E> sourceClass, Supplier<? extends E> supplier, Equality equality, Executor executor) {
+        super(equality, executor);
+        if (sourceClass == null || supplier == null)
+            throw new IllegalArgumentException();
+        this.sourceClass = sourceClass;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the model object data is pulled from, creating it if it has not been created yet
+     *
+     * @return model object
+     * @throws IllegalStateException if the supplier returns null
+     */
+    @Override
+    public E source() {
+        E source = this.source;
+        if (source == null) {
+            synchronized (this) {
+                source = this.source;
+                if (source == null) {
+                    source = supplier.get();
+                    if (source == null)
+                        throw new IllegalStateException("Supplier for " + sourceClass.getName() + " returned null.");
+                    this.source = source;
+                    supplier = null;
+                }
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Returns whether or not the model object has been created
+     *
+     * @return true if the model object has been created
+     */
+    public boolean initialized() {
+        return source != null;
+    }
+
+    /**
+     * Returns the class of the model object without creating it
+     *
+     * @return model class
+     */
+    @Override
+    protected Class<?> sourceClass() {
+        E source = this.source;
+        return source == null ? sourceClass : source.getClass();
+    }
+}
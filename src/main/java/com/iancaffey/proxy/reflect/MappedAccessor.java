@@ -0,0 +1,621 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * MappedAccessor
+ * <p>
+ * A compiled accessor for a target field/method. The member is resolved once and bound to a MethodHandle, so the
+ * accessor can be invoked against any number of sources without repeating the reflective lookup.
+ * Static members ignore the source they are invoked with, and static final fields are read once and folded into a constant.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class MappedAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle PROCEED;
+
+    static {
+        try {
+            PROCEED = LOOKUP.findVirtual(Interceptor.Invocation.class, "proceed", GENERIC);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<?> type;
+    private final boolean isStatic;
+    private final boolean constant;
+    private final int parameterCount;
+    private final MethodHandle handle;
+    private final MethodHandle getter;
+
+    private MappedAccessor(Class<?> type, Object value) {
+        this.type = type;
+        this.isStatic = true;
+        this.constant = true;
+        this.parameterCount = 0;
+        this.getter = MethodHandles.dropArguments(MethodHandles.constant(type.isPrimitive() ? type : Object.class, value), 0, Object.class);
+        this.handle = MethodHandles.dropArguments(MethodHandles.constant(Object.class, value), 0, Object.class, Object[].class);
+    }
+
+    private MappedAccessor(Class<?> type, boolean isStatic, int parameterCount, Interceptor.Invocation invocation) {
+        this.type = type;
+        this.isStatic = isStatic;
+        this.constant = false;
+        this.parameterCount = parameterCount;
+        this.handle = PROCEED.bindTo(invocation);
+        this.getter = parameterCount == 0 ? MethodHandles.insertArguments(handle, 1, (Object) null).asType(MethodType.methodType(type.isPrimitive() ? type : Object.class, Object.class)) : null;
+    }
+
+    private MappedAccessor(Class<?> type, boolean isStatic, MethodHandle target) {
+        this.type = type;
+        this.isStatic = isStatic;
+        this.constant = false;
+        this.parameterCount = target.type().parameterCount() - 1;
+        if (parameterCount == 0) {
+            MethodHandle getter = target.asType(MethodType.methodType(type.isPrimitive() ? type : Object.class, Object.class));
+            this.getter = getter;
+            this.handle = MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class, Object.class)), 1, Object[].class);
+        } else {
+            this.getter = null;
+            this.handle = target.asSpreader(Object[].class, parameterCount).asType(GENERIC);
+        }
+    }
+
+    /**
+     * Creates a MappedAccessor reading the value of {@code field}.
+     * Static final fields are read once, initializing their declaring class, and the accessor returns that value without reading the field again.
+     * The standard streams of System are excluded, as they are reassigned despite being final.
+     *
+     * @param field target field
+     * @return MappedAccessor for the field
+     * @throws IllegalAccessException if the field is not accessible
+     */
+    public static MappedAccessor of(Field field) throws IllegalAccessException {
+        if (field == null)
+            throw new IllegalArgumentException();
+        field.setAccessible(true);
+        int modifiers = field.getModifiers();
+        boolean isStatic = Modifier.isStatic(modifiers);
+        if (isStatic && Modifier.isFinal(modifiers) && field.getDeclaringClass() != System.class)
+            return new MappedAccessor(field.getType(), field.get(null));
+        MethodHandle target = LOOKUP.unreflectGetter(field);
+        if (isStatic)
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        return new MappedAccessor(field.getType(), isStatic, target);
+    }
+
+    /**
+     * Creates a MappedAccessor invoking {@code method} with the arguments passed to the accessor.
+     *
+     * @param method target method
+     * @return MappedAccessor for the method
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    public static MappedAccessor of(Method method) throws IllegalAccessException {
+        return of(method, (Object[]) null);
+    }
+
+    /**
+     * Creates a MappedAccessor invoking {@code method}.
+     *
+     * @param method          target method
+     * @param parameterValues values passed to the target method, if null, the arguments passed to the accessor are used
+     * @return MappedAccessor for the method
+     * @throws IllegalArgumentException if {@code method} is null or the number of parameter values does not match the target method
+     * @throws IllegalAccessException   if the method is not accessible
+     */
+    public static MappedAccessor of(Method method, Object[] parameterValues) throws IllegalAccessException {
+        return of(method, parameterValues, 0);
+    }
+
+    /**
+     * Creates a MappedAccessor invoking {@code method}.
+     * Fixed parameter values are bound into the accessor, while parameter values created by GlobalMappedMethod#forward(int) are
+     * taken from the arguments passed to the accessor, so invoking the accessor does not build a merged argument array.
+     *
+     * @param method          target method
+     * @param parameterValues values passed to the target method, if null, the arguments passed to the accessor are used
+     * @param arguments       number of arguments passed to the accessor when parameter values forward arguments, at least one more than the highest forwarded index
+     * @return MappedAccessor for the method
+     * @throws IllegalArgumentException if {@code method} is null, the number of parameter values does not match the target method
+     *                                  or a forwarded index is out of range
+     * @throws IllegalAccessException   if the method is not accessible
+     */
+    static MappedAccessor of(Method method, Object[] parameterValues, int arguments) throws IllegalAccessException {
+        return of(method, parameterValues, arguments, -1);
+    }
+
+    /**
+     * Creates a MappedAccessor invoking {@code method}, optionally as a variable arity method.
+     * When {@code arity} is not negative, the trailing parameters from the array parameter of the method onwards are collected into
+     * a new array on each invocation, so the accessor takes {@code arity} parameters.
+     *
+     * @param method          target method
+     * @param parameterValues values passed to the target method, if null, the arguments passed to the accessor are used
+     * @param arguments       number of arguments passed to the accessor when parameter values forward arguments, at least one more than the highest forwarded index
+     * @param arity           number of parameters when invoked as a variable arity method, or -1 to invoke it with its declared parameters
+     * @return MappedAccessor for the method
+     * @throws IllegalArgumentException if {@code method} is null, the number of parameter values does not match the target method
+     *                                  or a forwarded index is out of range
+     * @throws IllegalAccessException   if the method is not accessible
+     */
+    static MappedAccessor of(Method method, Object[] parameterValues, int arguments, int arity) throws IllegalAccessException {
+        if (method == null || arity >= 0 && (!method.isVarArgs() || arity < method.getParameterCount() - 1)
+                || parameterValues != null && parameterValues.length != (arity < 0 ? method.getParameterCount() : arity))
+            throw new IllegalArgumentException();
+        method.setAccessible(true);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodHandle target = LOOKUP.unreflect(method).asFixedArity();
+        if (arity >= 0) {
+            int fixed = method.getParameterCount() - 1;
+            target = target.asCollector(method.getParameterTypes()[fixed], arity - fixed);
+        }
+        if (isStatic)
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        if (parameterValues != null && parameterValues.length != 0)
+            target = bind(target, parameterValues, arguments);
+        return new MappedAccessor(method.getReturnType(), isStatic, target);
+    }
+
+    /**
+     * Binds fixed parameter values into {@code target} and reorders the forwarded parameters to match the accessor arguments.
+     *
+     * @param target          handle taking the receiver followed by the target method parameters
+     * @param parameterValues fixed values and forwarded argument placeholders
+     * @param arguments       minimum number of arguments passed to the accessor
+     * @return handle taking the receiver followed by the accessor arguments, or only the receiver if no arguments are forwarded
+     */
+    private static MethodHandle bind(MethodHandle target, Object[] parameterValues, int arguments) {
+        int count = 0;
+        int[] reorder = new int[1 + parameterValues.length];
+        for (Object value : parameterValues) {
+            if (value instanceof GlobalMappedMethod.ForwardedArgument) {
+                int index = ((GlobalMappedMethod.ForwardedArgument) value).index;
+                arguments = Math.max(arguments, index + 1);
+                reorder[1 + count++] = 1 + index;
+            }
+        }
+        for (int i = parameterValues.length - 1; i >= 0; i--)
+            if (!(parameterValues[i] instanceof GlobalMappedMethod.ForwardedArgument))
+                target = MethodHandles.insertArguments(target, 1 + i, parameterValues[i]);
+        if (count == 0)
+            return target;
+        Class<?>[] parameterTypes = new Class<?>[1 + arguments];
+        Arrays.fill(parameterTypes, Object.class);
+        parameterTypes[0] = target.type().parameterType(0);
+        MethodType generic = MethodType.methodType(target.type().returnType(), Arrays.copyOf(parameterTypes, 1 + count));
+        return MethodHandles.permuteArguments(target.asType(generic), MethodType.methodType(target.type().returnType(), parameterTypes), Arrays.copyOf(reorder, 1 + count));
+    }
+
+    /**
+     * Creates a MappedAccessor for the target field/method designated by {@code member} within {@code sourceClass}.
+     *
+     * @param member      mapping of the wrapper method
+     * @param sourceClass class declaring the target field/method
+     * @return MappedAccessor for the target field/method
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    public static MappedAccessor of(MappedMember member, Class<?> sourceClass) throws ReflectiveOperationException {
+        if (member == null || sourceClass == null)
+            throw new IllegalArgumentException();
+        switch (member.type()) {
+            case METHOD:
+                return of(member.declared() ? sourceClass.getDeclaredMethod(member.name()) : sourceClass.getMethod(member.name()));
+            case FIELD:
+                return of(member.declared() ? sourceClass.getDeclaredField(member.name()) : sourceClass.getField(member.name()));
+            default:
+                throw new IllegalStateException("Invalid type for ValueRetriever, " + member.type());
+        }
+    }
+
+    /**
+     * Creates a MappedAccessor for the wrapper method {@code wrapperMethod}, using its MappedMember annotation.
+     *
+     * @param wrapperMethod wrapper method annotated with MappedMember
+     * @param sourceClass   class declaring the target field/method
+     * @return MappedAccessor for the target field/method
+     * @throws IllegalArgumentException     if {@code wrapperMethod} does not have a MappedMember annotation present
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    public static MappedAccessor mapped(Method wrapperMethod, Class<?> sourceClass) throws ReflectiveOperationException {
+        if (wrapperMethod == null || sourceClass == null)
+            throw new IllegalArgumentException();
+        MappedAccessor accessor = MappingTable.of(sourceClass).accessor(wrapperMethod);
+        if (accessor == null)
+            throw new IllegalArgumentException(wrapperMethod + " does not have a MappedMember annotation present.");
+        return accessor;
+    }
+
+    /**
+     * Returns the MappedAccessor for the target field/method designated by {@code mapping}.
+     * The accessor is resolved once and shared by every handler using the mapping.
+     *
+     * @param mapping global mapping of a wrapper method
+     * @return MappedAccessor for the target field/method
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    public static MappedAccessor of(GlobalMappedMember mapping) throws ReflectiveOperationException {
+        if (mapping == null)
+            throw new IllegalArgumentException();
+        return mapping.accessor();
+    }
+
+    /**
+     * Composes interceptors around this accessor. The chain is built once; invoking the returned accessor calls the first
+     * interceptor directly, and each interceptor proceeds to the next until this accessor is invoked.
+     *
+     * @param method       wrapper method passed to the interceptors
+     * @param interceptors interceptors in the order they are invoked
+     * @return this if there are no interceptors, otherwise an accessor invoking the interceptors around this accessor
+     */
+    public MappedAccessor intercept(Method method, Interceptor... interceptors) {
+        if (method == null)
+            throw new IllegalArgumentException();
+        if (interceptors == null || interceptors.length == 0)
+            return this;
+        Interceptor.Invocation next = this::invoke;
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            Interceptor interceptor = interceptors[i];
+            Interceptor.Invocation proceed = next;
+            if (interceptor == null)
+                throw new IllegalArgumentException();
+            next = (source, args) -> interceptor.intercept(method, source, args, proceed);
+        }
+        return new MappedAccessor(type, isStatic, parameterCount, next);
+    }
+
+    /**
+     * Returns the type of the value retrieved by this accessor
+     *
+     * @return field type or method return type
+     */
+    public Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Returns whether or not the target field/method is static
+     *
+     * @return true if the target is static and ignores the source
+     */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * Returns whether or not the accessor returns a value folded from a static final field
+     *
+     * @return true if the accessor always returns the same value
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    /**
+     * Returns the number of arguments forwarded to the target method
+     *
+     * @return number of forwarded arguments
+     */
+    public int parameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Retrieves the value of the target field/method from {@code source}.
+     *
+     * @param source object holding the data to be retrieved
+     * @param args   arguments forwarded to the target method, or null if none are forwarded
+     * @return value of the target field/method
+     * @throws Throwable the exception thrown by the target method
+     */
+    public Object invoke(Object source, Object[] args) throws Throwable {
+        return (Object) handle.invokeExact(source, args);
+    }
+
+    /**
+     * Returns the handle reading the value from a source, typed (Object) returning the primitive value type or Object
+     *
+     * @return getter handle, or null if the accessor forwards arguments to the target method
+     */
+    MethodHandle getter() {
+        return getter;
+    }
+
+    private MethodHandle getter(Class<?> type, int sources, int results) {
+        if (getter == null)
+            throw new IllegalStateException("Accessor forwards " + parameterCount + " argument(s) and cannot be gathered.");
+        if (results < sources)
+            throw new IllegalArgumentException("Result array is smaller than the number of sources.");
+        return getter.type().returnType() == type ? getter : getter.asType(MethodType.methodType(type, Object.class));
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, Object[] results) throws Throwable {
+        MethodHandle getter = getter(Object.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (Object) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, boolean[] results) throws Throwable {
+        MethodHandle getter = getter(boolean.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (boolean) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, byte[] results) throws Throwable {
+        MethodHandle getter = getter(byte.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (byte) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, char[] results) throws Throwable {
+        MethodHandle getter = getter(char.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (char) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, short[] results) throws Throwable {
+        MethodHandle getter = getter(short.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (short) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, int[] results) throws Throwable {
+        MethodHandle getter = getter(int.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (int) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, long[] results) throws Throwable {
+        MethodHandle getter = getter(long.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (long) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, float[] results) throws Throwable {
+        MethodHandle getter = getter(float.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (float) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Object[] sources, double[] results) throws Throwable {
+        MethodHandle getter = getter(double.class, sources.length, results.length);
+        for (int i = 0; i < sources.length; i++)
+            results[i] = (double) getter.invokeExact(sources[i]);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, Object[] results) throws Throwable {
+        MethodHandle getter = getter(Object.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (Object) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, boolean[] results) throws Throwable {
+        MethodHandle getter = getter(boolean.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (boolean) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, byte[] results) throws Throwable {
+        MethodHandle getter = getter(byte.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (byte) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, char[] results) throws Throwable {
+        MethodHandle getter = getter(char.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (char) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, short[] results) throws Throwable {
+        MethodHandle getter = getter(short.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (short) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, int[] results) throws Throwable {
+        MethodHandle getter = getter(int.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (int) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, long[] results) throws Throwable {
+        MethodHandle getter = getter(long.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (long) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, float[] results) throws Throwable {
+        MethodHandle getter = getter(float.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (float) getter.invokeExact(source);
+    }
+
+    /**
+     * Retrieves the value of the target field/method from every source, storing them into {@code results} in iteration order.
+     *
+     * @param sources objects holding the data to be retrieved
+     * @param results array receiving the retrieved values
+     * @throws IllegalStateException    if the accessor forwards arguments to the target method
+     * @throws IllegalArgumentException if {@code results} is smaller than {@code sources}
+     * @throws Throwable                the exception thrown by the target method
+     */
+    public void gather(Collection<?> sources, double[] results) throws Throwable {
+        MethodHandle getter = getter(double.class, sources.size(), results.length);
+        int i = 0;
+        for (Object source : sources)
+            results[i++] = (double) getter.invokeExact(source);
+    }
+}
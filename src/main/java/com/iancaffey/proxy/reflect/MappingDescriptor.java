@@ -0,0 +1,262 @@
+package com.iancaffey.proxy.reflect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * MappingDescriptor
+ * <p>
+ * A streaming parser for mapping descriptor files, producing fully resolved GlobalMappedMember objects.
+ * Accessors are shared between every descriptor mapping the same target member, so reloading a descriptor only resolves members not seen before.
+ * <p>
+ * A descriptor starts with a {@code version = 1} line, optionally followed by a {@code wrapper = <class>} line naming the wrapper class.
+ * Every other line maps one wrapper method:
+ * <pre>
+ * wrapperMethod[(type,...)] = field|method [static] [declared] targetClass#member[(type,...)] [value...]
+ * </pre>
+ * Type lists are comma separated without whitespace. Values are passed to the target method instead of the wrapper method arguments and are converted to the target parameter types.
+ * A value of {@code $n} forwards the wrapper method argument at index n.
+ * Blank lines and lines starting with '#' are ignored.
+ *
+ * @author Ian Caffey
+ * @see ConfiguredFactory#load(Reader, Function)
+ * @since 1.0
+ */
+final class MappingDescriptor {
+    /**
+     * Latest descriptor version understood by the parser.
+     */
+    static final int VERSION = 1;
+    private static final ClassValue<ConcurrentMap<String, MappedAccessor>> ACCESSORS = new ClassValue<ConcurrentMap<String, MappedAccessor>>() {
+        @Override
+        protected ConcurrentMap<String, MappedAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class})
+            PRIMITIVES.put(type.getName(), type);
+    }
+
+    private final Class<?> wrapperClass;
+    private final ClassLoader loader;
+    private final Function<Class<?>, ?> models;
+    private final Map<String, Class<?>> classes = new HashMap<>();
+    private int line;
+
+    private MappingDescriptor(Class<?> wrapperClass, Function<Class<?>, ?> models) {
+        ClassLoader loader = wrapperClass.getClassLoader();
+        this.wrapperClass = wrapperClass;
+        this.loader = loader == null ? Thread.currentThread().getContextClassLoader() : loader;
+        this.models = models;
+    }
+
+    /**
+     * Parses and resolves every mapping of the descriptor.
+     *
+     * @param reader       descriptor source
+     * @param wrapperClass wrapper class the descriptor maps
+     * @param models       provides the model instance of each non-static target class
+     * @return resolved mappings in descriptor order
+     * @throws IOException                  if the descriptor could not be read or is malformed
+     * @throws ReflectiveOperationException if a class could not be loaded or a target field/method could not be found or accessed
+     */
+    static List<GlobalMappedMember> read(Reader reader, Class<?> wrapperClass, Function<Class<?>, ?> models) throws IOException, ReflectiveOperationException {
+        return new MappingDescriptor(wrapperClass, models).read(reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader));
+    }
+
+    private List<GlobalMappedMember> read(BufferedReader reader) throws IOException, ReflectiveOperationException {
+        List<GlobalMappedMember> mappings = new ArrayList<>();
+        boolean versioned = false;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            text = text.trim();
+            if (text.isEmpty() || text.charAt(0) == '#')
+                continue;
+            int separator = text.indexOf('=');
+            if (separator <= 0)
+                throw error("expected '=', " + text);
+            String key = text.substring(0, separator).trim();
+            String value = text.substring(separator + 1).trim();
+            if (!versioned) {
+                if (!"version".equals(key))
+                    throw error("descriptor must start with a version");
+                int version;
+                try {
+                    version = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw error("invalid version, " + value);
+                }
+                if (version < 1 || version > VERSION)
+                    throw error("unsupported version, " + version);
+                versioned = true;
+            } else if ("wrapper".equals(key)) {
+                if (!wrapperClass.getName().equals(value))
+                    throw error("descriptor maps " + value + ", not " + wrapperClass.getName());
+            } else {
+                mappings.add(mapping(key, value));
+            }
+        }
+        if (!versioned)
+            throw error("descriptor must start with a version");
+        return mappings;
+    }
+
+    private GlobalMappedMember mapping(String key, String value) throws IOException, ReflectiveOperationException {
+        int open = key.indexOf('(');
+        String wrapperName = open < 0 ? key : key.substring(0, open).trim();
+        Class<?>[] wrapperParameterTypes = open < 0 ? new Class<?>[0] : types(key, open);
+        String[] tokens = value.split("\\s+");
+        int index = 0;
+        TargetType type;
+        if ("field".equals(tokens[index]))
+            type = TargetType.FIELD;
+        else if ("method".equals(tokens[index]))
+            type = TargetType.METHOD;
+        else
+            throw error("expected field or method, " + tokens[index]);
+        index++;
+        int access = 0x1;
+        boolean declared = false;
+        for (; index < tokens.length; index++) {
+            if ("static".equals(tokens[index]))
+                access |= 0x8;
+            else if ("declared".equals(tokens[index]))
+                declared = true;
+            else
+                break;
+        }
+        if (index == tokens.length)
+            throw error("missing target member");
+        String target = tokens[index++];
+        int hash = target.indexOf('#');
+        if (hash <= 0 || hash == target.length() - 1)
+            throw error("expected targetClass#member, " + target);
+        Class<?> modelClass = type(target.substring(0, hash));
+        int targetOpen = target.indexOf('(', hash);
+        String name = targetOpen < 0 ? target.substring(hash + 1) : target.substring(hash + 1, targetOpen);
+        Class<?>[] parameterTypes = targetOpen < 0 ? null : types(target, targetOpen);
+        Object[] parameterValues = null;
+        if (index < tokens.length) {
+            if (type == TargetType.FIELD || parameterTypes == null || parameterTypes.length != tokens.length - index)
+                throw error("values do not match the target parameters, " + value);
+            parameterValues = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterValues.length; i++)
+                parameterValues[i] = value(tokens[index + i], parameterTypes[i]);
+        }
+        Object model = null;
+        if ((access & 0x8) == 0) {
+            model = models == null ? null : models.apply(modelClass);
+            if (model == null)
+                throw error("no model instance for " + modelClass.getName());
+        }
+        GlobalMappedMember mapping = type == TargetType.FIELD ?
+                new GlobalMappedMember(access, wrapperName, name, type, declared, modelClass, model) :
+                new GlobalMappedMethod(access, wrapperName, name, declared, modelClass, model, wrapperParameterTypes, parameterTypes, parameterValues);
+        StringBuilder member = new StringBuilder(type.name()).append(declared ? " declared " : " ").append(name);
+        if (type == TargetType.METHOD) {
+            member.append('(');
+            for (Class<?> parameterType : parameterTypes == null ? wrapperParameterTypes : parameterTypes)
+                member.append(parameterType.getName()).append(',');
+            member.append(')');
+            for (int i = index; i < tokens.length; i++)
+                member.append(' ').append(tokens[i]);
+            member.append(" from (");
+            for (Class<?> wrapperParameterType : wrapperParameterTypes)
+                member.append(wrapperParameterType.getName()).append(',');
+            member.append(')');
+        }
+        ConcurrentMap<String, MappedAccessor> accessors = ACCESSORS.get(modelClass);
+        MappedAccessor accessor = accessors.get(member.toString());
+        if (accessor == null) {
+            accessor = mapping.accessor();
+            MappedAccessor previous = accessors.putIfAbsent(member.toString(), accessor);
+            if (previous != null)
+                accessor = previous;
+        }
+        mapping.accessor(accessor);
+        return mapping;
+    }
+
+    private Class<?>[] types(String text, int open) throws IOException, ClassNotFoundException {
+        int close = text.indexOf(')', open);
+        if (close < 0)
+            throw error("missing ')', " + text);
+        String list = text.substring(open + 1, close).trim();
+        if (list.isEmpty())
+            return new Class<?>[0];
+        String[] names = list.split(",");
+        Class<?>[] types = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++)
+            types[i] = type(names[i].trim());
+        return types;
+    }
+
+    private Class<?> type(String name) throws ClassNotFoundException {
+        Class<?> type = classes.get(name);
+        if (type == null) {
+            if (name.endsWith("[]"))
+                type = Array.newInstance(type(name.substring(0, name.length() - 2)), 0).getClass();
+            else if (PRIMITIVES.containsKey(name))
+                type = PRIMITIVES.get(name);
+            else
+                type = Class.forName(name, false, loader);
+            classes.put(name, type);
+        }
+        return type;
+    }
+
+    private Object value(String token, Class<?> type) throws IOException {
+        if (token.length() > 1 && token.charAt(0) == '$') {
+            try {
+                return GlobalMappedMethod.forward(Integer.parseInt(token.substring(1)));
+            } catch (IllegalArgumentException e) {
+                throw error("invalid forwarded argument, " + token);
+            }
+        }
+        if ("null".equals(token)) {
+            if (type.isPrimitive())
+                throw error("null passed for primitive " + type.getName());
+            return null;
+        }
+        try {
+            if (type == int.class || type == Integer.class)
+                return Integer.valueOf(token);
+            if (type == long.class || type == Long.class)
+                return Long.valueOf(token);
+            if (type == boolean.class || type == Boolean.class)
+                return Boolean.valueOf(token);
+            if (type == double.class || type == Double.class)
+                return Double.valueOf(token);
+            if (type == float.class || type == Float.class)
+                return Float.valueOf(token);
+            if (type == short.class || type == Short.class)
+                return Short.valueOf(token);
+            if (type == byte.class || type == Byte.class)
+                return Byte.valueOf(token);
+            if ((type == char.class || type == Character.class) && token.length() == 1)
+                return token.charAt(0);
+            if (type == String.class || type == Object.class || type == CharSequence.class)
+                return token;
+        } catch (NumberFormatException e) {
+            throw error("invalid " + type.getName() + ", " + token);
+        }
+        throw error("unsupported value type " + type.getName());
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed mapping descriptor at line " + line + ", " + message);
+    }
+}
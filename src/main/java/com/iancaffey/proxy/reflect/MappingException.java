@@ -22,4 +22,13 @@ public class MappingException extends Exception {
     public MappingException(Method method) {
         super(method + " was not properly mapped to an appropriate method or field.");
     }
+
+    /**
+     * Constructs an Exception describing an invalid mapping
+     *
+     * @param message description of the invalid mapping
+     */
+    public MappingException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,320 @@
+package com.iancaffey.proxy.reflect;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * MappingIndex
+ * <p>
+ * A list of wrapper classes annotated with MappedClass along with their target classes and mapped wrapper methods.
+ * An index can be discovered by scanning a package, or written at build time and loaded from the classpath resource
+ * {@value #RESOURCE}, which lets startup skip classpath scanning entirely.
+ * <p>
+ * Each line of an index file lists a wrapper class, its target class and the signatures of its mapped wrapper methods, separated by spaces.
+ * A signature is the method name followed by its parameter types, such as {@code add(int,java.lang.String[])}.
+ * Blank lines and lines starting with '#' are ignored. Index files are generated at build time by running this class with the
+ * output file followed by the packages to scan as arguments, {@code MappingIndex <output> <package>...}, over the compiled wrapper classes.
+ * <p>
+ * Mapping tables are keyed on the runtime class of a source, so resolving an index only warms up sources whose class is the indexed
+ * target class. Sources of subclasses are resolved on their first invocation, unless their classes are passed to #resolve(Class...).
+ *
+ * @author Ian Caffey
+ * @see MappingTable
+ * @since 1.0
+ */
+public final class MappingIndex {
+    /**
+     * Classpath resource the index is written to and loaded from.
+     */
+    public static final String RESOURCE = "META-INF/proxy/mappings.idx";
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class})
+            PRIMITIVES.put(type.getName(), type);
+    }
+
+    private final List<Entry> entries;
+
+    private MappingIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a MappingIndex of the specified wrapper classes. Classes without a MappedClass annotation are ignored.
+     *
+     * @param wrapperClasses wrapper classes to be indexed
+     * @return MappingIndex of the wrapper classes
+     */
+    public static MappingIndex of(Class<?>... wrapperClasses) {
+        if (wrapperClasses == null)
+            throw new IllegalArgumentException();
+        List<Entry> entries = new ArrayList<>();
+        for (Class<?> wrapperClass : wrapperClasses) {
+            if (wrapperClass == null || !wrapperClass.isInterface() || !wrapperClass.isAnnotationPresent(MappedClass.class))
+                continue;
+            List<Method> methods = new ArrayList<>();
+            for (Method method : wrapperClass.getMethods())
+                if (method.isAnnotationPresent(MappedMember.class))
+                    methods.add(method);
+            entries.add(new Entry(wrapperClass, wrapperClass.getAnnotation(MappedClass.class).target(), methods));
+        }
+        return new MappingIndex(entries);
+    }
+
+    /**
+     * Creates a MappingIndex of every wrapper class annotated with MappedClass within the package or its subpackages.
+     *
+     * @param packageName name of the package to scan
+     * @param loader      class loader to scan
+     * @return MappingIndex of the wrapper classes found
+     * @throws IOException            if the package could not be read
+     * @throws ClassNotFoundException if a class within the package could not be loaded
+     */
+    public static MappingIndex scan(String packageName, ClassLoader loader) throws IOException, ClassNotFoundException {
+        if (packageName == null || loader == null)
+            throw new IllegalArgumentException();
+        String path = packageName.replace('.', '/');
+        List<String> names = new ArrayList<>();
+        Enumeration<URL> resources = loader.getResources(path);
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                connection.setUseCaches(false);
+                try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+                    Enumeration<JarEntry> jarEntries = jar.entries();
+                    while (jarEntries.hasMoreElements()) {
+                        String name = jarEntries.nextElement().getName();
+                        if (name.startsWith(path + '/') && name.endsWith(".class"))
+                            names.add(name);
+                    }
+                }
+            } else if ("file".equals(url.getProtocol())) {
+                Path root;
+                try {
+                    root = Paths.get(url.toURI());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                Path base = root;
+                for (int i = path.isEmpty() ? 0 : path.split("/").length; i > 0; i--)
+                    base = base.getParent();
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : (Iterable<Path>) files::iterator)
+                        if (file.toString().endsWith(".class"))
+                            names.add(base.relativize(file).toString().replace(File.separatorChar, '/'));
+                }
+            }
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : names)
+            if (!name.endsWith("module-info.class") && !name.endsWith("package-info.class"))
+                classes.add(Class.forName(name.substring(0, name.length() - ".class".length()).replace('/', '.'), false, loader));
+        return of(classes.toArray(new Class<?>[classes.size()]));
+    }
+
+    /**
+     * Loads the MappingIndex from every {@value #RESOURCE} resource visible to the class loader.
+     *
+     * @param loader class loader to read the index from
+     * @return MappingIndex of the listed wrapper classes, empty if no index is present
+     * @throws IOException                  if an index could not be read or is malformed
+     * @throws ReflectiveOperationException if a listed class or wrapper method could not be found
+     */
+    public static MappingIndex load(ClassLoader loader) throws IOException, ReflectiveOperationException {
+        if (loader == null)
+            throw new IllegalArgumentException();
+        List<Entry> entries = new ArrayList<>();
+        Enumeration<URL> resources = loader.getResources(RESOURCE);
+        while (resources.hasMoreElements()) {
+            try (InputStream in = resources.nextElement().openStream()) {
+                entries.addAll(read(in, loader));
+            }
+        }
+        return new MappingIndex(entries);
+    }
+
+    private static List<Entry> read(InputStream in, ClassLoader loader) throws IOException, ReflectiveOperationException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#')
+                continue;
+            String[] tokens = line.split("\\s+");
+            if (tokens.length < 2)
+                throw new IOException("Malformed mapping index entry, " + line);
+            Class<?> wrapperClass = Class.forName(tokens[0], false, loader);
+            Class<?> targetClass = Class.forName(tokens[1], false, loader);
+            List<Method> methods = new ArrayList<>(tokens.length - 2);
+            for (int i = 2; i < tokens.length; i++)
+                methods.add(method(wrapperClass, tokens[i], loader));
+            entries.add(new Entry(wrapperClass, targetClass, methods));
+        }
+        return entries;
+    }
+
+    private static Method method(Class<?> wrapperClass, String signature, ClassLoader loader) throws IOException, ReflectiveOperationException {
+        int open = signature.indexOf('(');
+        if (open < 0)
+            return wrapperClass.getMethod(signature);
+        if (open == 0 || signature.charAt(signature.length() - 1) != ')')
+            throw new IOException("Malformed mapping index signature, " + signature);
+        String list = signature.substring(open + 1, signature.length() - 1);
+        String[] names = list.isEmpty() ? new String[0] : list.split(",");
+        Class<?>[] parameterTypes = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++)
+            parameterTypes[i] = type(names[i], loader);
+        return wrapperClass.getMethod(signature.substring(0, open), parameterTypes);
+    }
+
+    private static Class<?> type(String name, ClassLoader loader) throws ClassNotFoundException {
+        if (name.endsWith("[]"))
+            return Array.newInstance(type(name.substring(0, name.length() - 2), loader), 0).getClass();
+        Class<?> type = PRIMITIVES.get(name);
+        return type != null ? type : Class.forName(name, false, loader);
+    }
+
+    /**
+     * Returns the indexed wrapper classes
+     *
+     * @return wrapper classes in index order
+     */
+    public List<Class<?>> wrappers() {
+        List<Class<?>> wrappers = new ArrayList<>(entries.size());
+        for (Entry entry : entries)
+            wrappers.add(entry.wrapperClass);
+        return Collections.unmodifiableList(wrappers);
+    }
+
+    /**
+     * Pre-resolves every indexed wrapper class: generates its proxy class, compiles the accessors of its mapped methods
+     * and caches the constructor of its target class, if it has a public no-argument constructor.
+     *
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public void resolve() throws ReflectiveOperationException {
+        for (Entry entry : entries) {
+            ProxyConstructor.of(entry.wrapperClass);
+            resolve(entry, entry.targetClass);
+            try {
+                SourceFactory.of(entry.targetClass);
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Pre-resolves every indexed wrapper class as #resolve() does, and compiles its accessors for sources of the specified runtime classes
+     * as well, such as subclasses of an indexed target class. Each source class is resolved against every entry whose target class it extends.
+     *
+     * @param sourceClasses runtime classes of the sources to be wrapped
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public void resolve(Class<?>... sourceClasses) throws ReflectiveOperationException {
+        if (sourceClasses == null)
+            throw new IllegalArgumentException();
+        resolve();
+        for (Class<?> sourceClass : sourceClasses) {
+            if (sourceClass == null)
+                throw new IllegalArgumentException();
+            for (Entry entry : entries)
+                if (entry.targetClass.isAssignableFrom(sourceClass) && entry.targetClass != sourceClass)
+                    resolve(entry, sourceClass);
+        }
+    }
+
+    private static void resolve(Entry entry, Class<?> sourceClass) throws ReflectiveOperationException {
+        MappingTable table = MappingTable.of(sourceClass);
+        for (Method method : entry.methods)
+            table.intercepted(method);
+    }
+
+    /**
+     * Writes the index in the format read by #load(ClassLoader).
+     *
+     * @param writer destination of the index
+     * @throws IOException if the index could not be written
+     */
+    public void write(Writer writer) throws IOException {
+        for (Entry entry : entries) {
+            writer.write(entry.wrapperClass.getName());
+            writer.write(' ');
+            writer.write(entry.targetClass.getName());
+            for (Method method : entry.methods) {
+                writer.write(' ');
+                writer.write(method.getName());
+                writer.write('(');
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i > 0)
+                        writer.write(',');
+                    writer.write(parameterTypes[i].getTypeName());
+                }
+                writer.write(')');
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Generates an index file at build time. Every mapping is resolved before the index is written, so broken mappings fail the build.
+     *
+     * @param args output file followed by the packages to scan
+     * @throws Exception if a package could not be scanned, a mapping could not be resolved or the index could not be written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Usage: MappingIndex <output file> <package>...");
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 1; i < args.length; i++)
+            entries.addAll(scan(args[i], loader).entries);
+        MappingIndex index = new MappingIndex(entries);
+        index.resolve();
+        Path output = Paths.get(args[0]);
+        if (output.getParent() != null)
+            Files.createDirectories(output.getParent());
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            index.write(writer);
+        }
+    }
+
+    private static final class Entry {
+        private final Class<?> wrapperClass;
+        private final Class<?> targetClass;
+        private final List<Method> methods;
+
+        private Entry(Class<?> wrapperClass, Class<?> targetClass, List<Method> methods) {
+            this.wrapperClass = wrapperClass;
+            this.targetClass = targetClass;
+            this.methods = methods;
+        }
+    }
+}
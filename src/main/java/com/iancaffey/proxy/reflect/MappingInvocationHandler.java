@@ -2,9 +2,9 @@ package com.iancaffey.proxy.reflect;
 
 import com.iancaffey.proxy.util.Equality;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 
 /**
  * MappingInvocationHandler
@@ -18,6 +18,7 @@ import java.lang.reflect.Method;
 public class MappingInvocationHandler<E> implements InvocationHandler {
     private final E source;
     private final Equality equality;
+    private final AsyncInvocation.Batch batch;
 
     /**
      * Constructs an InvocationHandler with a model class to pull data from
@@ -39,10 +40,54 @@ public class MappingInvocationHandler<E> implements InvocationHandler {
      *                                  is null.
      */
     public MappingInvocationHandler(E source, Equality equality) {
+        this(source, equality, null);
+    }
+
+    /**
+     * Constructs an InvocationHandler with a model class to pull data from
+     *
+     * @param source   model class
+     * @param equality method invoked for Object#equals(Object)
+     * @param executor executor running wrapper methods which return a CompletableFuture, if null, they are run on the calling thread
+     * @throws IllegalArgumentException if {@code source}
+     *                                  is null.
+     */
+    public MappingInvocationHandler(E source, Equality equality, Executor executor) {
         if (source == null)
             throw new IllegalArgumentException();
         this.source = source;
         this.equality = equality;
+        this.batch = AsyncInvocation.batch(executor);
+    }
+
+    /**
+     * Constructs an InvocationHandler whose model object is supplied by a subclass through #source()
+     *
+     * @param equality method invoked for Object#equals(Object)
+     * @param executor executor running wrapper methods which return a CompletableFuture, if null, they are run on the calling thread
+     */
+    protected MappingInvocationHandler(Equality equality, Executor executor) {
+        this.source = null;
+        this.equality = equality;
+        this.batch = AsyncInvocation.batch(executor);
+    }
+
+    /**
+     * Returns the model object data is pulled from
+     *
+     * @return model object
+     */
+    public E source() {
+        return source;
+    }
+
+    /**
+     * Returns the class of the model object data is pulled from
+     *
+     * @return model class
+     */
+    protected Class<?> sourceClass() {
+        return source().getClass();
     }
 
     /**
@@ -96,7 +141,7 @@ public class MappingInvocationHandler<E> implements InvocationHandler {
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         if (!method.isAnnotationPresent(MappedMember.class)) {
             if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
-                return Wrapper.class.getCanonicalName() + "[" + source.getClass().getCanonicalName() + "]";
+                return Wrapper.class.getCanonicalName() + "[" + sourceClass().getCanonicalName() + "]";
             if ("equals".equals(method.getName()) && method.getParameterCount() == 1 && Object.class.equals(method.getParameterTypes()[0])) {
                 if (equality != null)
                     return equality.equals(proxy, args[0]);
@@ -104,18 +149,21 @@ public class MappingInvocationHandler<E> implements InvocationHandler {
             }
             throw new MappingException(method);
         }
-        MappedMember retriever = method.getAnnotation(MappedMember.class);
-        switch (retriever.type()) {
-            case METHOD:
-                Method m = retriever.declared() ? source.getClass().getDeclaredMethod(retriever.name()) : source.getClass().getMethod(retriever.name());
-                m.setAccessible(true);
-                return m.invoke((retriever.access() & 0x8) != 0 ? null : source);
-            case FIELD:
-                Field f = retriever.declared() ? source.getClass().getDeclaredField(retriever.name()) : source.getClass().getField(retriever.name());
-                f.setAccessible(true);
-                return f.get((retriever.access() & 0x8) != 0 ? null : source);
-            default:
-                throw new IllegalStateException("Invalid type for ValueRetriever, " + retriever.type());
-        }
+        if (AsyncInvocation.isAsync(method))
+            return AsyncInvocation.submit(() -> access(method, args), batch);
+        return access(method, args);
+    }
+
+    /**
+     * Retrieves the value of the target field/method designated by the MappedMember annotation of {@code method}
+     *
+     * @param method wrapper method being invoked
+     * @param args   arguments passed to the wrapper method
+     * @return value of the target field/method
+     * @throws Throwable if the target field/method could not be found or accessed, or the target method throws an exception
+     */
+    private Object access(Method method, Object[] args) throws Throwable {
+        E source = source();
+        return MappingTable.of(source.getClass()).intercepted(method).invoke(source, args);
     }
 }
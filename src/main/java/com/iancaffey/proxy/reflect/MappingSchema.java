@@ -0,0 +1,273 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MappingSchema
+ * <p>
+ * The ordered list of value members of a wrapper class: every mapped wrapper method which takes no arguments and returns a value.
+ * Asynchronous wrapper methods, returning a CompletableFuture or CompletionStage, are not values of the wrapper and are left out.
+ * Members are ordered by name, and each member is precompiled to read its value either as raw primitive bits or as a reference.
+ * Schemas of annotated wrapper classes are shared per wrapper class and source class.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class MappingSchema {
+    private static final ClassValue<ConcurrentMap<Class<?>, MappingSchema>> SCHEMAS = new ClassValue<ConcurrentMap<Class<?>, MappingSchema>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, MappingSchema> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final MethodType BITS = MethodType.methodType(long.class, Object.class);
+    private static final MethodType REFERENCE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle FLOAT_BITS;
+    private static final MethodHandle DOUBLE_BITS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FLOAT_BITS = MethodHandles.explicitCastArguments(lookup.findStatic(Float.class, "floatToRawIntBits", MethodType.methodType(int.class, float.class)), MethodType.methodType(long.class, float.class));
+            DOUBLE_BITS = lookup.findStatic(Double.class, "doubleToRawLongBits", MethodType.methodType(long.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final MappedAccessor[] accessors;
+    private final Object[] models;
+    private final MethodHandle[] readers;
+    private final int[] slots;
+    private final int primitives;
+
+    private MappingSchema(List<Member> members) {
+        int size = members.size();
+        this.names = new String[size];
+        this.types = new Class<?>[size];
+        this.accessors = new MappedAccessor[size];
+        this.models = new Object[size];
+        this.readers = new MethodHandle[size];
+        this.slots = new int[size];
+        int primitives = 0;
+        int references = 0;
+        for (int i = 0; i < size; i++) {
+            Member member = members.get(i);
+            Class<?> type = member.accessor.type();
+            names[i] = member.name;
+            types[i] = type;
+            accessors[i] = member.accessor;
+            models[i] = member.model;
+            MethodHandle getter = member.accessor.getter();
+            if (type == float.class)
+                readers[i] = MethodHandles.filterReturnValue(getter, FLOAT_BITS);
+            else if (type == double.class)
+                readers[i] = MethodHandles.filterReturnValue(getter, DOUBLE_BITS);
+            else if (type == boolean.class)
+                readers[i] = MethodHandles.explicitCastArguments(getter, BITS);
+            else if (type.isPrimitive())
+                readers[i] = getter.asType(BITS);
+            else
+                readers[i] = getter.asType(REFERENCE);
+            slots[i] = type.isPrimitive() ? primitives++ : references++;
+        }
+        this.primitives = primitives;
+    }
+
+    /**
+     * Returns the schema of an annotated wrapper class resolved against {@code sourceClass}.
+     *
+     * @param wrapperClass wrapper class with methods annotated with MappedMember
+     * @param sourceClass  class declaring the target fields/methods
+     * @return MappingSchema shared by every wrapper of the class over sources of the class
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public static MappingSchema of(Class<?> wrapperClass, Class<?> sourceClass) throws ReflectiveOperationException {
+        if (wrapperClass == null || sourceClass == null)
+            throw new IllegalArgumentException();
+        ConcurrentMap<Class<?>, MappingSchema> schemas = SCHEMAS.get(wrapperClass);
+        MappingSchema schema = schemas.get(sourceClass);
+        if (schema == null) {
+            MappingTable table = MappingTable.of(sourceClass);
+            List<Member> members = new ArrayList<>();
+            for (Method method : wrapperClass.getMethods()) {
+                MappedAccessor accessor = table.accessor(method);
+                if (accessor != null && method.getParameterCount() == 0 && !AsyncInvocation.isAsync(method))
+                    members.add(new Member(method.getName(), accessor, null));
+            }
+            schema = create(members);
+            MappingSchema previous = schemas.putIfAbsent(sourceClass, schema);
+            if (previous != null)
+                schema = previous;
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the schema of a wrapper class mapped by GlobalMappedMember objects.
+     * Each member is read from the model of its mapping. Without the wrapper class, asynchronous wrapper methods cannot be told apart,
+     * so every mapping of a wrapper method taking no arguments is a member; use #of(Class, GlobalMappedMember...) to leave them out.
+     *
+     * @param mappings mappings of the wrapper class
+     * @return MappingSchema of the mappings
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public static MappingSchema of(GlobalMappedMember... mappings) throws ReflectiveOperationException {
+        return of(null, mappings);
+    }
+
+    /**
+     * Returns the schema of {@code wrapperClass} mapped by GlobalMappedMember objects, leaving out its asynchronous wrapper methods.
+     * Each member is read from the model of its mapping.
+     *
+     * @param wrapperClass wrapper class of the mappings, or null to keep every mapping
+     * @param mappings     mappings of the wrapper class
+     * @return MappingSchema of the mappings
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public static MappingSchema of(Class<?> wrapperClass, GlobalMappedMember... mappings) throws ReflectiveOperationException {
+        if (mappings == null)
+            throw new IllegalArgumentException();
+        List<Member> members = new ArrayList<>();
+        for (GlobalMappedMember mapping : mappings) {
+            Class<?>[] wrapperParameterTypes = mapping instanceof GlobalMappedMethod ? ((GlobalMappedMethod) mapping).rawWrapperParameterTypes() : null;
+            if (wrapperParameterTypes != null && wrapperParameterTypes.length != 0 || wrapperClass != null && async(wrapperClass, mapping.wrapper()))
+                continue;
+            members.add(new Member(mapping.wrapper(), mapping.accessor(), mapping.model()));
+        }
+        return create(members);
+    }
+
+    private static boolean async(Class<?> wrapperClass, String name) {
+        try {
+            return AsyncInvocation.isAsync(wrapperClass.getMethod(name));
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static MappingSchema create(List<Member> members) {
+        List<Member> values = new ArrayList<>(members.size());
+        for (Member member : members)
+            if (member.accessor.parameterCount() == 0 && member.accessor.type() != void.class)
+                values.add(member);
+        values.sort(Comparator.comparing(member -> member.name));
+        return new MappingSchema(values);
+    }
+
+    /**
+     * Returns the number of members
+     *
+     * @return number of members
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of members of a primitive type
+     *
+     * @return number of primitive members
+     */
+    public int primitives() {
+        return primitives;
+    }
+
+    /**
+     * Returns the name of the wrapper method of the member
+     *
+     * @param index index of the member
+     * @return wrapper method name
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Returns the value type of the member
+     *
+     * @param index index of the member
+     * @return field type or method return type
+     */
+    public Class<?> type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the compiled accessor of the member
+     *
+     * @param index index of the member
+     * @return MappedAccessor of the member
+     */
+    public MappedAccessor accessor(int index) {
+        return accessors[index];
+    }
+
+    /**
+     * Returns the index of the member within the primitive values if its type is primitive, or within the reference values otherwise.
+     *
+     * @param index index of the member
+     * @return slot of the member
+     */
+    int slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Returns the object the member is read from
+     *
+     * @param index  index of the member
+     * @param source source of the wrapper
+     * @return model of the mapping for global schemas, otherwise the source
+     */
+    Object receiver(int index, Object source) {
+        Object model = models[index];
+        return model == null ? source : model;
+    }
+
+    /**
+     * Reads the raw bits of a primitive member. Floating point values are read as their raw bit representation.
+     *
+     * @param index  index of a primitive member
+     * @param source source of the wrapper
+     * @return raw bits of the value
+     * @throws Throwable the exception thrown by the target method
+     */
+    long bits(int index, Object source) throws Throwable {
+        return (long) readers[index].invokeExact(receiver(index, source));
+    }
+
+    /**
+     * Reads the value of a reference member.
+     *
+     * @param index  index of a reference member
+     * @param source source of the wrapper
+     * @return value of the member
+     * @throws Throwable the exception thrown by the target method
+     */
+    Object reference(int index, Object source) throws Throwable {
+        return (Object) readers[index].invokeExact(receiver(index, source));
+    }
+
+    private static final class Member {
+        private final String name;
+        private final MappedAccessor accessor;
+        private final Object model;
+
+        private Member(String name, MappedAccessor accessor, Object model) {
+            this.name = name;
+            this.accessor = accessor;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MappingTable
+ * <p>
+ * A table of compiled accessors for wrapper methods annotated with MappedMember, resolved against a single source class.
+ * Tables are shared by every wrapper whose source is of the same class, so each wrapper method is resolved at most once per source class.
+ * The resolved accessors are cached on the class declaring the wrapper method, keyed by source class, so a wrapper class loaded by a child
+ * class loader can be unloaded while a source class of a parent class loader remains reachable.
+ *
+ * @author Ian Caffey
+ * @see MappedAccessor
+ * @since 1.0
+ */
+public final class MappingTable {
+    private static final ClassValue<MappingTable> TABLES = new ClassValue<MappingTable>() {
+        @Override
+        protected MappingTable computeValue(Class<?> type) {
+            return new MappingTable(type);
+        }
+    };
+    private static final ClassValue<ConcurrentMap<Class<?>, Accessors>> ACCESSORS = new ClassValue<ConcurrentMap<Class<?>, Accessors>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Accessors> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ClassValue<Interceptor> INTERCEPTORS = new ClassValue<Interceptor>() {
+        @Override
+        protected Interceptor computeValue(Class<?> type) {
+            try {
+                return (Interceptor) type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Interceptor " + type.getName() + " could not be instantiated.", e);
+            }
+        }
+    };
+    private static final Interceptor[] NONE = new Interceptor[0];
+    private static final Object UNMAPPED = new Object();
+    private final Class<?> sourceClass;
+
+    private MappingTable(Class<?> sourceClass) {
+        this.sourceClass = sourceClass;
+    }
+
+    /**
+     * Returns the MappingTable for the source class
+     *
+     * @param sourceClass class declaring the target fields/methods
+     * @return MappingTable shared by all sources of the class
+     */
+    public static MappingTable of(Class<?> sourceClass) {
+        if (sourceClass == null)
+            throw new IllegalArgumentException();
+        return TABLES.get(sourceClass);
+    }
+
+    /**
+     * Returns the class declaring the target fields/methods
+     *
+     * @return source class
+     */
+    public Class<?> sourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * Returns the compiled accessor for the wrapper method, resolving it on first use.
+     *
+     * @param method wrapper method
+     * @return MappedAccessor for the target field/method, or null if the wrapper method does not have a MappedMember annotation present
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    public MappedAccessor accessor(Method method) throws ReflectiveOperationException {
+        ConcurrentMap<Method, Object> accessors = accessors(method).plain;
+        Object accessor = accessors.get(method);
+        if (accessor == null) {
+            MappedMember member = method.getAnnotation(MappedMember.class);
+            accessor = member == null ? UNMAPPED : MappedAccessor.of(member, sourceClass);
+            Object previous = accessors.putIfAbsent(method, accessor);
+            if (previous != null)
+                accessor = previous;
+        }
+        return accessor == UNMAPPED ? null : (MappedAccessor) accessor;
+    }
+
+    /**
+     * Returns the compiled accessor for the wrapper method with the interceptors attached by Intercepted composed around it, resolving it on first use.
+     * Wrapper methods without interceptors share the accessor returned by #accessor(Method).
+     *
+     * @param method wrapper method
+     * @return MappedAccessor invoked by wrappers, or null if the wrapper method does not have a MappedMember annotation present
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    public MappedAccessor intercepted(Method method) throws ReflectiveOperationException {
+        ConcurrentMap<Method, Object> intercepted = accessors(method).intercepted;
+        Object accessor = intercepted.get(method);
+        if (accessor == null) {
+            MappedAccessor plain = accessor(method);
+            accessor = plain == null ? UNMAPPED : plain.intercept(method, interceptors(method));
+            Object previous = intercepted.putIfAbsent(method, accessor);
+            if (previous != null)
+                accessor = previous;
+        }
+        return accessor == UNMAPPED ? null : (MappedAccessor) accessor;
+    }
+
+    /**
+     * Returns the accessors resolved against the source class for the wrapper methods declared by the class declaring the wrapper method
+     *
+     * @param method wrapper method
+     * @return Accessors cached on the class declaring the wrapper method
+     */
+    private Accessors accessors(Method method) {
+        ConcurrentMap<Class<?>, Accessors> tables = ACCESSORS.get(method.getDeclaringClass());
+        Accessors accessors = tables.get(sourceClass);
+        if (accessors == null) {
+            accessors = new Accessors();
+            Accessors previous = tables.putIfAbsent(sourceClass, accessors);
+            if (previous != null)
+                accessors = previous;
+        }
+        return accessors;
+    }
+
+    /**
+     * Returns the interceptors attached to the wrapper method by Intercepted annotations, those of its declaring class first
+     *
+     * @param method wrapper method
+     * @return interceptors in the order they are invoked
+     */
+    static Interceptor[] interceptors(Method method) {
+        Intercepted type = method.getDeclaringClass().getAnnotation(Intercepted.class);
+        Intercepted member = method.getAnnotation(Intercepted.class);
+        if (type == null && member == null)
+            return NONE;
+        List<Interceptor> interceptors = new ArrayList<>();
+        for (Intercepted intercepted : new Intercepted[]{type, member})
+            if (intercepted != null)
+                for (Class<? extends Interceptor> interceptor : intercepted.value())
+                    interceptors.add(INTERCEPTORS.get(interceptor));
+        return interceptors.toArray(new Interceptor[interceptors.size()]);
+    }
+
+    private static final class Accessors {
+        private final ConcurrentMap<Method, Object> plain = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Method, Object> intercepted = new ConcurrentHashMap<>();
+    }
+}
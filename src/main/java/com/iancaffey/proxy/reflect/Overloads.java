@@ -0,0 +1,181 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overloads
+ * <p>
+ * Selects the target method of a mapping from the types of the arguments it is invoked with, following the phases of Java overload resolution:
+ * methods applicable by subtyping and primitive widening are preferred over those applicable through boxing/unboxing, which are preferred
+ * over variable arity methods. Among the applicable methods of a phase, the most specific one is selected.
+ * Selection happens once, when the accessor of a mapping is resolved.
+ *
+ * @author Ian Caffey
+ * @see GlobalMappedMethod
+ * @since 1.0
+ */
+final class Overloads {
+    private static final Map<Class<?>, Class<?>> BOXES = new HashMap<>();
+    private static final Map<Class<?>, List<Class<?>>> WIDENINGS = new HashMap<>();
+
+    static {
+        BOXES.put(boolean.class, Boolean.class);
+        BOXES.put(byte.class, Byte.class);
+        BOXES.put(char.class, Character.class);
+        BOXES.put(short.class, Short.class);
+        BOXES.put(int.class, Integer.class);
+        BOXES.put(long.class, Long.class);
+        BOXES.put(float.class, Float.class);
+        BOXES.put(double.class, Double.class);
+        WIDENINGS.put(byte.class, Arrays.asList(short.class, int.class, long.class, float.class, double.class));
+        WIDENINGS.put(short.class, Arrays.asList(int.class, long.class, float.class, double.class));
+        WIDENINGS.put(char.class, Arrays.asList(int.class, long.class, float.class, double.class));
+        WIDENINGS.put(int.class, Arrays.asList(long.class, float.class, double.class));
+        WIDENINGS.put(long.class, Arrays.asList(float.class, double.class));
+        WIDENINGS.put(float.class, Arrays.asList(double.class));
+    }
+
+    private Overloads() {
+    }
+
+    /**
+     * Selects the most specific method named {@code name} applicable to arguments of the specified types.
+     *
+     * @param type      class declaring the method
+     * @param name      method name
+     * @param declared  determines whether the declared methods of the class are searched rather than its public methods
+     * @param arguments types of the arguments, a null type stands for a null argument
+     * @return Selection of the method
+     * @throws NoSuchMethodException    if no method is applicable to the arguments
+     * @throws IllegalArgumentException if several methods are applicable and none is the most specific
+     */
+    static Selection select(Class<?> type, String name, boolean declared, Class<?>[] arguments) throws NoSuchMethodException {
+        Method[] candidates = declared ? type.getDeclaredMethods() : type.getMethods();
+        for (int phase = 0; phase < 3; phase++) {
+            List<Method> applicable = new ArrayList<>();
+            for (Method candidate : candidates)
+                if (candidate.getName().equals(name) && !candidate.isBridge() && applicable(candidate, arguments, phase))
+                    applicable.add(candidate);
+            if (!applicable.isEmpty())
+                return new Selection(mostSpecific(applicable, arguments.length, phase == 2), phase == 2);
+        }
+        throw new NoSuchMethodException(type.getName() + "." + name + signature(arguments));
+    }
+
+    private static boolean applicable(Method method, Class<?>[] arguments, int phase) {
+        Class<?>[] parameters = method.getParameterTypes();
+        if (phase < 2) {
+            if (parameters.length != arguments.length)
+                return false;
+            for (int i = 0; i < arguments.length; i++)
+                if (!(phase == 0 ? strict(arguments[i], parameters[i]) : loose(arguments[i], parameters[i])))
+                    return false;
+            return true;
+        }
+        if (!method.isVarArgs() || arguments.length < parameters.length - 1)
+            return false;
+        Class<?>[] expanded = expand(parameters, arguments.length);
+        for (int i = 0; i < arguments.length; i++)
+            if (!loose(arguments[i], expanded[i]))
+                return false;
+        return true;
+    }
+
+    private static Method mostSpecific(List<Method> applicable, int arguments, boolean varargs) {
+        Method best = applicable.get(0);
+        for (int i = 1; i < applicable.size(); i++) {
+            Method method = applicable.get(i);
+            Class<?>[] types = types(method, arguments, varargs);
+            Class<?>[] bestTypes = types(best, arguments, varargs);
+            if (Arrays.equals(types, bestTypes) ? preferred(method, best) : moreSpecific(types, bestTypes))
+                best = method;
+        }
+        Class<?>[] bestTypes = types(best, arguments, varargs);
+        for (Method method : applicable)
+            if (!moreSpecific(bestTypes, types(method, arguments, varargs)))
+                throw new IllegalArgumentException("Ambiguous overloads of " + best.getName() + ": " + best + " and " + method + ".");
+        return best;
+    }
+
+    /**
+     * Returns whether or not {@code method} is preferred over {@code other} with the same parameter types, such as an implementation
+     * over the abstract method it implements, or an override over the method it overrides.
+     */
+    private static boolean preferred(Method method, Method other) {
+        boolean isAbstract = Modifier.isAbstract(method.getModifiers());
+        if (isAbstract != Modifier.isAbstract(other.getModifiers()))
+            return !isAbstract;
+        return other.getDeclaringClass().isAssignableFrom(method.getDeclaringClass());
+    }
+
+    private static Class<?>[] types(Method method, int arguments, boolean varargs) {
+        return varargs ? expand(method.getParameterTypes(), arguments) : method.getParameterTypes();
+    }
+
+    private static boolean moreSpecific(Class<?>[] types, Class<?>[] other) {
+        for (int i = 0; i < types.length; i++)
+            if (!strict(types[i], other[i]))
+                return false;
+        return true;
+    }
+
+    private static Class<?>[] expand(Class<?>[] parameters, int arguments) {
+        Class<?>[] expanded = Arrays.copyOf(parameters, arguments);
+        Class<?> component = parameters[parameters.length - 1].getComponentType();
+        for (int i = parameters.length - 1; i < arguments; i++)
+            expanded[i] = component;
+        return expanded;
+    }
+
+    private static boolean strict(Class<?> argument, Class<?> parameter) {
+        if (argument == null)
+            return !parameter.isPrimitive();
+        if (argument.isPrimitive() != parameter.isPrimitive())
+            return false;
+        if (argument.isPrimitive())
+            return argument == parameter || WIDENINGS.getOrDefault(argument, Collections.emptyList()).contains(parameter);
+        return parameter.isAssignableFrom(argument);
+    }
+
+    private static boolean loose(Class<?> argument, Class<?> parameter) {
+        if (strict(argument, parameter))
+            return true;
+        if (argument == null)
+            return false;
+        if (argument.isPrimitive())
+            return parameter.isAssignableFrom(BOXES.get(argument));
+        for (Map.Entry<Class<?>, Class<?>> box : BOXES.entrySet())
+            if (box.getValue() == argument)
+                return strict(box.getKey(), parameter);
+        return false;
+    }
+
+    private static String signature(Class<?>[] arguments) {
+        StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < arguments.length; i++)
+            builder.append(i == 0 ? "" : ", ").append(arguments[i] == null ? "null" : arguments[i].getName());
+        return builder.append(')').toString();
+    }
+
+    /**
+     * Selection
+     * <p>
+     * A selected method and whether it was selected as a variable arity method, collecting trailing arguments into its array parameter.
+     */
+    static final class Selection {
+        final Method method;
+        final boolean varargs;
+
+        private Selection(Method method, boolean varargs) {
+            this.method = method;
+            this.varargs = varargs;
+        }
+    }
+}
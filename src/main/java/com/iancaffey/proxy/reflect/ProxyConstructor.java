@@ -0,0 +1,113 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * ProxyConstructor
+ * <p>
+ * The pre-generated constructor of the proxy class of a wrapper class.
+ * The proxy class is generated and its constructor unreflected once per wrapper class, so creating an instance is a single
+ * constructor invocation without consulting the proxy class cache of Proxy#newProxyInstance or taking any lock.
+ * Proxy classes of non-public interfaces are not public, so their constructors are made accessible first; if that is refused,
+ * instances are created through Proxy#newProxyInstance instead.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class ProxyConstructor {
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class, InvocationHandler.class);
+    private static final MethodHandle NEW_PROXY_INSTANCE;
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return create(type.getClassLoader(), type);
+        }
+    };
+
+    static {
+        try {
+            NEW_PROXY_INSTANCE = MethodHandles.lookup().findStatic(Proxy.class, "newProxyInstance", MethodType.methodType(Object.class, ClassLoader.class, Class[].class, InvocationHandler.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ProxyConstructor() {
+    }
+
+    /**
+     * Returns the constructor of the proxy class implementing the interfaces, typed (InvocationHandler)Object
+     *
+     * @param loader     class loader defining the proxy class
+     * @param interfaces interfaces implemented by the proxy class
+     * @return constructor handle of the proxy class
+     * @throws IllegalArgumentException if the proxy class could not be generated for the interfaces
+     */
+    static MethodHandle create(ClassLoader loader, Class<?>... interfaces) {
+        try {
+            Class<?> proxyClass = Proxy.getProxyClass(loader, interfaces);
+            Constructor<?> constructor = proxyClass.getConstructor(InvocationHandler.class);
+            if (Modifier.isPublic(proxyClass.getModifiers()))
+                return MethodHandles.publicLookup().unreflectConstructor(constructor).asType(CONSTRUCTOR);
+            try {
+                constructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR);
+            } catch (RuntimeException | IllegalAccessException e) {
+                return MethodHandles.insertArguments(NEW_PROXY_INSTANCE, 0, loader, interfaces.clone());
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Returns the constructor of the proxy class of the wrapper class, generating the proxy class on first use
+     *
+     * @param wrapperClass wrapper interface
+     * @return constructor handle of the proxy class, typed (InvocationHandler)Object
+     * @throws IllegalArgumentException if {@code wrapperClass} is not an interface
+     */
+    public static MethodHandle of(Class<?> wrapperClass) {
+        if (wrapperClass == null || !wrapperClass.isInterface())
+            throw new IllegalArgumentException();
+        return CONSTRUCTORS.get(wrapperClass);
+    }
+
+    /**
+     * Creates a new proxy instance of the wrapper class through its pre-generated constructor
+     *
+     * @param wrapperClass wrapper interface
+     * @param handler      handler for all abstract methods
+     * @return a newly allocated instance of the proxy class
+     * @throws IllegalArgumentException if {@code wrapperClass} is not an interface or {@code handler} is null
+     */
+    public static <W> W newInstance(Class<W> wrapperClass, InvocationHandler handler) {
+        if (handler == null)
+            throw new IllegalArgumentException();
+        return newInstance(of(wrapperClass), handler);
+    }
+
+    /**
+     * Creates a new proxy instance through a constructor returned by #of(Class)
+     *
+     * @param constructor constructor handle of the proxy class
+     * @param handler     handler for all abstract methods
+     * @return a newly allocated instance of the proxy class
+     */
+    @SuppressWarnings("unchecked")
+    static <W> W newInstance(MethodHandle constructor, InvocationHandler handler) {
+        try {
+            return (W) (Object) constructor.invokeExact(handler);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
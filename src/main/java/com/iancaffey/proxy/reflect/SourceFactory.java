@@ -0,0 +1,129 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * SourceFactory
+ * <p>
+ * A Supplier which instantiates source objects through a constructor resolved once per class and parameter types.
+ * Resolved constructors are cached as MethodHandles, so creating a SourceFactory or calling #get() does not repeat the reflective lookup.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class SourceFactory<E> implements Supplier<E> {
+    private static final ClassValue<Map<List<Class<?>>, MethodHandle>> CONSTRUCTORS = new ClassValue<Map<List<Class<?>>, MethodHandle>>() {
+        @Override
+        protected Map<List<Class<?>>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final ClassValue<SourceFactory<?>[]> DEFAULTS = new ClassValue<SourceFactory<?>[]>() {
+        @Override
+        protected SourceFactory<?>[] computeValue(Class<?> type) {
+            return new SourceFactory<?>[1];
+        }
+    };
+    private final Class<E> sourceClass;
+    private final MethodHandle constructor;
+
+    private SourceFactory(Class<E> sourceClass, MethodHandle constructor) {
+        this.sourceClass = sourceClass;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Returns a SourceFactory which instantiates {@code source} through its public no-argument constructor.
+     * The factory is shared by every caller, so lazy wrappers of the same source class do not each hold their own.
+     *
+     * @param source class of the objects to be created
+     * @return SourceFactory for the source class
+     * @throws NoSuchMethodException  if the source class has no public no-argument constructor
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> SourceFactory<E> of(Class<E> source) throws NoSuchMethodException, IllegalAccessException {
+        if (source == null)
+            throw new IllegalArgumentException();
+        SourceFactory<?>[] factories = DEFAULTS.get(source);
+        SourceFactory<?> factory = factories[0];
+        if (factory == null)
+            factories[0] = factory = of(source, new Class<?>[0], new Object[0]);
+        return (SourceFactory<E>) factory;
+    }
+
+    /**
+     * Creates a SourceFactory which instantiates {@code source} through the public constructor with the specified parameter types.
+     *
+     * @param source          class of the objects to be created
+     * @param parameterTypes  types of the source class constructor parameters
+     * @param parameterValues desired values of the source class constructor parameters
+     * @return SourceFactory for the source class
+     * @throws IllegalArgumentException if any argument is null or the parameter types and values differ in length
+     * @throws NoSuchMethodException    if the source class has no public constructor with the parameter types
+     * @throws IllegalAccessException   if the constructor is not accessible
+     */
+    public static <E> SourceFactory<E> of(Class<E> source, Class<?>[] parameterTypes, Object[] parameterValues) throws NoSuchMethodException, IllegalAccessException {
+        if (source == null || parameterTypes == null || parameterValues == null || parameterTypes.length != parameterValues.length)
+            throw new IllegalArgumentException();
+        MethodHandle constructor = constructor(source, parameterTypes);
+        if (parameterValues.length != 0)
+            constructor = MethodHandles.insertArguments(constructor, 0, parameterValues);
+        return new SourceFactory<>(source, constructor.asType(MethodType.methodType(Object.class)));
+    }
+
+    /**
+     * Returns the cached constructor of {@code source} with the specified parameter types, resolving it on first use.
+     *
+     * @param source         class declaring the constructor
+     * @param parameterTypes types of the constructor parameters
+     * @return MethodHandle invoking the constructor
+     * @throws NoSuchMethodException  if the source class has no public constructor with the parameter types
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    private static MethodHandle constructor(Class<?> source, Class<?>[] parameterTypes) throws NoSuchMethodException, IllegalAccessException {
+        Map<List<Class<?>>, MethodHandle> constructors = CONSTRUCTORS.get(source);
+        List<Class<?>> key = Arrays.asList(parameterTypes.clone());
+        MethodHandle constructor = constructors.get(key);
+        if (constructor == null) {
+            constructor = MethodHandles.publicLookup().unreflectConstructor(source.getConstructor(parameterTypes));
+            MethodHandle previous = constructors.putIfAbsent(key, constructor);
+            if (previous != null)
+                constructor = previous;
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns the class of the objects created by this factory.
+     *
+     * @return source class
+     */
+    public Class<E> sourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * Creates a new source object.
+     *
+     * @return a newly allocated instance of the source class
+     * @throws IllegalStateException if the constructor throws an exception
+     */
+    @Override
+    public E get() {
+        try {
+            return sourceClass.cast((Object) constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to instantiate " + sourceClass.getName(), t);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.iancaffey.proxy.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * WrapperQuery
+ * <p>
+ * A query over a collection of sources, keyed on the mapped methods of a wrapper class, such as
+ * {@code WrapperQuery.from(Point.class, points).where(Point::x, gt(5)).select(Point::y)}.
+ * Conditions are evaluated directly on the sources through the compiled accessors of the wrapper methods, so no wrapper is created
+ * to test a source; wrappers are only created for the sources which match, and only if they are requested.
+ * Results are lazy streams, so short-circuiting operations such as Stream#findFirst() stop evaluating sources as soon as they can.
+ * <p>
+ * Queries are immutable; #where(Function, Predicate) and #parallel() return new queries.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public final class WrapperQuery<W extends Wrapper<E>, E> {
+    private final Class<W> wrapperClass;
+    private final MappingTable table;
+    private final Collection<? extends E> sources;
+    private final Condition[] conditions;
+    private final boolean parallel;
+
+    private WrapperQuery(Class<W> wrapperClass, MappingTable table, Collection<? extends E> sources, Condition[] conditions, boolean parallel) {
+        this.wrapperClass = wrapperClass;
+        this.table = table;
+        this.sources = sources;
+        this.conditions = conditions;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Creates a query over {@code sources}, mapping the wrapper methods against {@code sourceClass}.
+     *
+     * @param wrapperClass wrapper class whose mapped methods are queried
+     * @param sourceClass  class declaring the target fields/methods, every source must be an instance of it
+     * @param sources      sources to be queried, null sources never match
+     * @return WrapperQuery matching every source
+     */
+    public static <W extends Wrapper<E>, E> WrapperQuery<W, E> from(Class<W> wrapperClass, Class<E> sourceClass, Collection<? extends E> sources) {
+        if (wrapperClass == null || sourceClass == null || sources == null || !wrapperClass.isInterface())
+            throw new IllegalArgumentException();
+        return new WrapperQuery<>(wrapperClass, MappingTable.of(sourceClass), sources, new Condition[0], false);
+    }
+
+    /**
+     * Creates a query over {@code sources}.
+     * The wrapper class for this method must have a MappedClass annotation present to provide the source class.
+     *
+     * @param wrapperClass wrapper class whose mapped methods are queried
+     * @param sources      sources to be queried, null sources never match
+     * @return WrapperQuery matching every source
+     */
+    @SuppressWarnings("unchecked")
+    public static <W extends Wrapper<E>, E> WrapperQuery<W, E> from(Class<W> wrapperClass, Collection<? extends E> sources) {
+        if (wrapperClass == null || !wrapperClass.isAnnotationPresent(MappedClass.class))
+            throw new IllegalArgumentException();
+        return from(wrapperClass, (Class<E>) wrapperClass.getAnnotation(MappedClass.class).target(), sources);
+    }
+
+    /**
+     * Returns a query matching only the sources whose value of the wrapper method satisfies {@code predicate}.
+     * The wrapper method is identified by invoking {@code member} once on a recording wrapper, so it must be a reference to a single
+     * mapped wrapper method which takes no arguments, such as {@code Point::x}.
+     *
+     * @param member    reference to the mapped wrapper method
+     * @param predicate condition on the value of the wrapper method
+     * @return WrapperQuery with the condition added
+     * @throws IllegalArgumentException     if {@code member} is not a reference to a single mapped wrapper method taking no arguments
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> WrapperQuery<W, E> where(Function<? super W, T> member, Predicate<? super T> predicate) throws ReflectiveOperationException {
+        if (member == null || predicate == null)
+            throw new IllegalArgumentException();
+        Condition[] conditions = Arrays.copyOf(this.conditions, this.conditions.length + 1);
+        conditions[this.conditions.length] = new Condition(accessor(member), (Predicate<Object>) predicate);
+        return new WrapperQuery<>(wrapperClass, table, sources, conditions, parallel);
+    }
+
+    /**
+     * Returns a query evaluating the sources in parallel.
+     *
+     * @return WrapperQuery producing parallel streams
+     */
+    public WrapperQuery<W, E> parallel() {
+        return new WrapperQuery<>(wrapperClass, table, sources, conditions, true);
+    }
+
+    /**
+     * Returns the sources matching every condition, without creating any wrapper.
+     *
+     * @return lazy stream of the matching sources
+     */
+    public Stream<E> sources() {
+        return StreamSupport.stream(sources.spliterator(), parallel).filter(this::matches).map(source -> (E) source);
+    }
+
+    /**
+     * Returns wrappers of the sources matching every condition. A wrapper is created for a source only once it has matched.
+     *
+     * @return lazy stream of wrappers of the matching sources
+     */
+    public Stream<W> wrappers() {
+        MethodHandle constructor = ProxyConstructor.of(wrapperClass);
+        return sources().map(source -> ProxyConstructor.newInstance(constructor, new CompactMappingInvocationHandler<>(source)));
+    }
+
+    /**
+     * Returns the value of a wrapper method for every matching source, read through its compiled accessor without creating any wrapper.
+     *
+     * @param member reference to the mapped wrapper method, such as {@code Point::y}
+     * @return lazy stream of the values of the matching sources
+     * @throws IllegalArgumentException     if {@code member} is not a reference to a single mapped wrapper method taking no arguments
+     * @throws ReflectiveOperationException if the target field/method could not be found or accessed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> select(Function<? super W, T> member) throws ReflectiveOperationException {
+        if (member == null)
+            throw new IllegalArgumentException();
+        MappedAccessor accessor = accessor(member);
+        return sources().map(source -> (T) value(accessor, source));
+    }
+
+    private boolean matches(E source) {
+        if (source == null)
+            return false;
+        for (Condition condition : conditions)
+            if (!condition.predicate.test(value(condition.accessor, source)))
+                return false;
+        return true;
+    }
+
+    private static Object value(MappedAccessor accessor, Object source) {
+        try {
+            return accessor.invoke(source, null);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private MappedAccessor accessor(Function<? super W, ?> member) throws ReflectiveOperationException {
+        Recorder recorder = new Recorder();
+        member.apply(ProxyConstructor.newInstance(wrapperClass, recorder));
+        if (recorder.count != 1 || recorder.method.getParameterCount() != 0)
+            throw new IllegalArgumentException("Query members must be references to a single wrapper method taking no arguments.");
+        MappedAccessor accessor = table.intercepted(recorder.method);
+        if (accessor == null)
+            throw new IllegalArgumentException(recorder.method + " does not have a MappedMember annotation present.");
+        return accessor;
+    }
+
+    /**
+     * Returns a predicate matching values equal to {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate testing Objects#equals(Object, Object)
+     */
+    public static <T> Predicate<T> eq(T value) {
+        return other -> Objects.equals(other, value);
+    }
+
+    /**
+     * Returns a predicate matching values not equal to {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate negating Objects#equals(Object, Object)
+     */
+    public static <T> Predicate<T> ne(T value) {
+        return other -> !Objects.equals(other, value);
+    }
+
+    /**
+     * Returns a predicate matching non-null values greater than {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate testing Comparable#compareTo(Object)
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> gt(T value) {
+        if (value == null)
+            throw new IllegalArgumentException();
+        return other -> other != null && other.compareTo(value) > 0;
+    }
+
+    /**
+     * Returns a predicate matching non-null values greater than or equal to {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate testing Comparable#compareTo(Object)
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> ge(T value) {
+        if (value == null)
+            throw new IllegalArgumentException();
+        return other -> other != null && other.compareTo(value) >= 0;
+    }
+
+    /**
+     * Returns a predicate matching non-null values less than {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate testing Comparable#compareTo(Object)
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> lt(T value) {
+        if (value == null)
+            throw new IllegalArgumentException();
+        return other -> other != null && other.compareTo(value) < 0;
+    }
+
+    /**
+     * Returns a predicate matching non-null values less than or equal to {@code value}
+     *
+     * @param value value to be compared
+     * @return Predicate testing Comparable#compareTo(Object)
+     */
+    public static <T extends Comparable<? super T>> Predicate<T> le(T value) {
+        if (value == null)
+            throw new IllegalArgumentException();
+        return other -> other != null && other.compareTo(value) <= 0;
+    }
+
+    /**
+     * Condition
+     * <p>
+     * A predicate on the value read by a compiled accessor.
+     */
+    private static final class Condition {
+        private final MappedAccessor accessor;
+        private final Predicate<Object> predicate;
+
+        private Condition(MappedAccessor accessor, Predicate<Object> predicate) {
+            this.accessor = accessor;
+            this.predicate = predicate;
+        }
+    }
+
+    /**
+     * Recorder
+     * <p>
+     * An InvocationHandler recording the wrapper methods invoked on it, returning the default value of each return type.
+     */
+    private static final class Recorder implements InvocationHandler {
+        private Method method;
+        private int count;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class)
+                throw new IllegalArgumentException("Query members must be references to a wrapper method.");
+            this.method = method;
+            count++;
+            Class<?> type = method.getReturnType();
+            return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+    }
+}
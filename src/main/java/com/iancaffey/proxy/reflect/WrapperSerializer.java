@@ -0,0 +1,366 @@
+package com.iancaffey.proxy.reflect;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WrapperSerializer
+ * <p>
+ * A compact binary serializer for the mapped values of a wrapper class, generated from its MappingSchema.
+ * Values are written in schema order straight from the sources through the compiled accessors: primitives are written without boxing,
+ * and String, boxed primitive and enum members are written behind a single null marker byte.
+ * Serialized values are read back into snapshot instances of the wrapper class.
+ *
+ * @author Ian Caffey
+ * @see MappingSchema
+ * @since 1.0
+ */
+public final class WrapperSerializer<W> {
+    private static final byte BOOLEAN = 0, BYTE = 1, CHAR = 2, SHORT = 3, INT = 4, LONG = 5, FLOAT = 6, DOUBLE = 7, STRING = 8, ENUM = 9;
+    private static final Map<Class<?>, Byte> KINDS = new HashMap<>();
+
+    static {
+        KINDS.put(boolean.class, BOOLEAN);
+        KINDS.put(byte.class, BYTE);
+        KINDS.put(char.class, CHAR);
+        KINDS.put(short.class, SHORT);
+        KINDS.put(int.class, INT);
+        KINDS.put(long.class, LONG);
+        KINDS.put(float.class, FLOAT);
+        KINDS.put(double.class, DOUBLE);
+        KINDS.put(Boolean.class, BOOLEAN);
+        KINDS.put(Byte.class, BYTE);
+        KINDS.put(Character.class, CHAR);
+        KINDS.put(Short.class, SHORT);
+        KINDS.put(Integer.class, INT);
+        KINDS.put(Long.class, LONG);
+        KINDS.put(Float.class, FLOAT);
+        KINDS.put(Double.class, DOUBLE);
+        KINDS.put(String.class, STRING);
+    }
+
+    private final Class<W> wrapperClass;
+    private final MappingSchema schema;
+    private final byte[] kinds;
+    private final Map<Method, Integer> indexes = new HashMap<>();
+    private final MethodHandle constructor;
+
+    private WrapperSerializer(Class<W> wrapperClass, MappingSchema schema) throws ReflectiveOperationException {
+        this.wrapperClass = wrapperClass;
+        this.schema = schema;
+        this.kinds = new byte[schema.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            Class<?> type = schema.type(i);
+            Byte kind = type.isEnum() ? Byte.valueOf(ENUM) : KINDS.get(type);
+            if (kind == null)
+                throw new IllegalArgumentException(schema.name(i) + " has unsupported type " + type.getName() + ".");
+            kinds[i] = kind;
+            Method method = wrapperClass.getMethod(schema.name(i));
+            if (AsyncInvocation.isAsync(method))
+                throw new IllegalArgumentException(schema.name(i) + " is asynchronous and cannot be part of a snapshot.");
+            indexes.put(method, i);
+        }
+        this.constructor = ProxyConstructor.of(wrapperClass);
+    }
+
+    /**
+     * Creates a WrapperSerializer for the wrapper class using the specified schema.
+     *
+     * @param wrapperClass wrapper class whose snapshots are read
+     * @param schema       schema of the wrapper class
+     * @return WrapperSerializer for the wrapper class
+     * @throws IllegalArgumentException     if a member has a type other than a primitive, boxed primitive, String or enum,
+     *                                      or is an asynchronous method of the wrapper class
+     * @throws ReflectiveOperationException if a member is not a method of the wrapper class or the proxy class could not be created
+     */
+    public static <W> WrapperSerializer<W> of(Class<W> wrapperClass, MappingSchema schema) throws ReflectiveOperationException {
+        if (wrapperClass == null || schema == null || !wrapperClass.isInterface())
+            throw new IllegalArgumentException();
+        return new WrapperSerializer<>(wrapperClass, schema);
+    }
+
+    /**
+     * Creates a WrapperSerializer for an annotated wrapper class over sources of {@code sourceClass}.
+     *
+     * @param wrapperClass wrapper class with methods annotated with MappedMember
+     * @param sourceClass  class declaring the target fields/methods
+     * @return WrapperSerializer for the wrapper class
+     * @throws IllegalArgumentException     if a member has a type other than a primitive, boxed primitive, String or enum
+     * @throws ReflectiveOperationException if a target field/method could not be found or accessed
+     */
+    public static <W> WrapperSerializer<W> of(Class<W> wrapperClass, Class<?> sourceClass) throws ReflectiveOperationException {
+        return of(wrapperClass, MappingSchema.of(wrapperClass, sourceClass));
+    }
+
+    /**
+     * Returns the schema the serializer was generated from
+     *
+     * @return MappingSchema of the wrapper class
+     */
+    public MappingSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Writes the mapped values of {@code source} to the buffer.
+     *
+     * @param source object holding the data to be written, ignored by schemas of GlobalMappedMember objects
+     * @param buffer destination of the values
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough remaining space
+     * @throws Throwable                        the exception thrown by a target method
+     */
+    public void write(Object source, ByteBuffer buffer) throws Throwable {
+        for (int i = 0; i < kinds.length; i++) {
+            if (schema.type(i).isPrimitive()) {
+                write(kinds[i], schema.bits(i, source), buffer);
+                continue;
+            }
+            Object value = schema.reference(i, source);
+            buffer.put((byte) (value == null ? 0 : 1));
+            if (value == null)
+                continue;
+            switch (kinds[i]) {
+                case STRING:
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    buffer.putInt(bytes.length);
+                    buffer.put(bytes);
+                    break;
+                case ENUM:
+                    buffer.putInt(((Enum<?>) value).ordinal());
+                    break;
+                default:
+                    write(kinds[i], bits(value), buffer);
+            }
+        }
+    }
+
+    /**
+     * Writes the mapped values of {@code source} to the output, in the same format as #write(Object, ByteBuffer).
+     *
+     * @param source object holding the data to be written, ignored by schemas of GlobalMappedMember objects
+     * @param out    destination of the values
+     * @throws IOException if the values could not be written
+     * @throws Throwable   the exception thrown by a target method
+     */
+    public void write(Object source, DataOutput out) throws Throwable {
+        for (int i = 0; i < kinds.length; i++) {
+            if (schema.type(i).isPrimitive()) {
+                write(kinds[i], schema.bits(i, source), out);
+                continue;
+            }
+            Object value = schema.reference(i, source);
+            out.writeByte(value == null ? 0 : 1);
+            if (value == null)
+                continue;
+            switch (kinds[i]) {
+                case STRING:
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                    break;
+                case ENUM:
+                    out.writeInt(((Enum<?>) value).ordinal());
+                    break;
+                default:
+                    write(kinds[i], bits(value), out);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot of the wrapper class from the buffer. The snapshot returns the values read for every member of the schema.
+     *
+     * @param buffer source of the values
+     * @return snapshot instance of the wrapper class
+     * @throws java.nio.BufferUnderflowException if the buffer does not contain a complete set of values
+     */
+    public W read(ByteBuffer buffer) {
+        Object[] values = new Object[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            if (!schema.type(i).isPrimitive() && buffer.get() == 0)
+                continue;
+            switch (kinds[i]) {
+                case BOOLEAN:
+                    values[i] = buffer.get() != 0;
+                    break;
+                case BYTE:
+                    values[i] = buffer.get();
+                    break;
+                case CHAR:
+                    values[i] = buffer.getChar();
+                    break;
+                case SHORT:
+                    values[i] = buffer.getShort();
+                    break;
+                case INT:
+                    values[i] = buffer.getInt();
+                    break;
+                case LONG:
+                    values[i] = buffer.getLong();
+                    break;
+                case FLOAT:
+                    values[i] = buffer.getFloat();
+                    break;
+                case DOUBLE:
+                    values[i] = buffer.getDouble();
+                    break;
+                case STRING:
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    values[i] = new String(bytes, StandardCharsets.UTF_8);
+                    break;
+                case ENUM:
+                    values[i] = schema.type(i).getEnumConstants()[buffer.getInt()];
+                    break;
+            }
+        }
+        return snapshot(values);
+    }
+
+    /**
+     * Reads a snapshot of the wrapper class from the input. The snapshot returns the values read for every member of the schema.
+     *
+     * @param in source of the values
+     * @return snapshot instance of the wrapper class
+     * @throws IOException if the values could not be read
+     */
+    public W read(DataInput in) throws IOException {
+        Object[] values = new Object[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            if (!schema.type(i).isPrimitive() && in.readByte() == 0)
+                continue;
+            switch (kinds[i]) {
+                case BOOLEAN:
+                    values[i] = in.readByte() != 0;
+                    break;
+                case BYTE:
+                    values[i] = in.readByte();
+                    break;
+                case CHAR:
+                    values[i] = in.readChar();
+                    break;
+                case SHORT:
+                    values[i] = in.readShort();
+                    break;
+                case INT:
+                    values[i] = in.readInt();
+                    break;
+                case LONG:
+                    values[i] = in.readLong();
+                    break;
+                case FLOAT:
+                    values[i] = in.readFloat();
+                    break;
+                case DOUBLE:
+                    values[i] = in.readDouble();
+                    break;
+                case STRING:
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    values[i] = new String(bytes, StandardCharsets.UTF_8);
+                    break;
+                case ENUM:
+                    values[i] = schema.type(i).getEnumConstants()[in.readInt()];
+                    break;
+            }
+        }
+        return snapshot(values);
+    }
+
+    private W snapshot(Object[] values) {
+        return wrapperClass.cast(ProxyConstructor.newInstance(constructor, new SnapshotInvocationHandler(wrapperClass, indexes, values)));
+    }
+
+    private static long bits(Object value) {
+        if (value instanceof Boolean)
+            return (Boolean) value ? 1 : 0;
+        if (value instanceof Character)
+            return (Character) value;
+        if (value instanceof Float)
+            return Float.floatToRawIntBits((Float) value);
+        if (value instanceof Double)
+            return Double.doubleToRawLongBits((Double) value);
+        return ((Number) value).longValue();
+    }
+
+    private static void write(byte kind, long bits, ByteBuffer buffer) {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                buffer.put((byte) bits);
+                break;
+            case CHAR:
+            case SHORT:
+                buffer.putShort((short) bits);
+                break;
+            case INT:
+            case FLOAT:
+                buffer.putInt((int) bits);
+                break;
+            case LONG:
+            case DOUBLE:
+                buffer.putLong(bits);
+                break;
+        }
+    }
+
+    private static void write(byte kind, long bits, DataOutput out) throws IOException {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                out.writeByte((int) bits);
+                break;
+            case CHAR:
+            case SHORT:
+                out.writeShort((int) bits);
+                break;
+            case INT:
+            case FLOAT:
+                out.writeInt((int) bits);
+                break;
+            case LONG:
+            case DOUBLE:
+                out.writeLong(bits);
+                break;
+        }
+    }
+
+    /**
+     * SnapshotInvocationHandler
+     * <p>
+     * An InvocationHandler returning the values of a deserialized snapshot.
+     */
+    private static final class SnapshotInvocationHandler implements InvocationHandler {
+        private final Class<?> wrapperClass;
+        private final Map<Method, Integer> indexes;
+        private final Object[] values;
+
+        private SnapshotInvocationHandler(Class<?> wrapperClass, Map<Method, Integer> indexes, Object[] values) {
+            this.wrapperClass = wrapperClass;
+            this.indexes = indexes;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = indexes.get(method);
+            if (index != null)
+                return values[index];
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0)
+                return Wrapper.class.getCanonicalName() + "[Snapshot(" + wrapperClass.getCanonicalName() + ")]";
+            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0)
+                return System.identityHashCode(proxy);
+            if ("equals".equals(method.getName()) && method.getParameterCount() == 1 && Object.class.equals(method.getParameterTypes()[0]))
+                return proxy == args[0];
+            throw new MappingException(method);
+        }
+    }
+}